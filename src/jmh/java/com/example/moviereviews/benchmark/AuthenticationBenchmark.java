@@ -0,0 +1,63 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.security.CachingAuthenticationProvider;
+import com.example.moviereviews.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuthenticationBenchmark {
+
+	private DaoAuthenticationProvider basic;
+	private CachingAuthenticationProvider cachedBasic;
+	private TokenService tokenService;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+		basic = new DaoAuthenticationProvider();
+		basic.setPasswordEncoder(passwordEncoder);
+		basic.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername("admin")
+			.password(passwordEncoder.encode("password"))
+			.roles("USER")
+			.build()));
+		cachedBasic = new CachingAuthenticationProvider(basic, 1000, Duration.ofMinutes(5));
+		tokenService = new TokenService("benchmark-secret", Duration.ofMinutes(15));
+		token = tokenService.issue(cachedBasic.authenticate(login()));
+	}
+
+	@Benchmark
+	public Authentication basicWithBcrypt() {
+		return basic.authenticate(login());
+	}
+
+	@Benchmark
+	public Authentication basicWithVerifiedCache() {
+		return cachedBasic.authenticate(login());
+	}
+
+	@Benchmark
+	public Authentication bearerToken() {
+		return tokenService.verify(token);
+	}
+
+	private static Authentication login() {
+		return UsernamePasswordAuthenticationToken.unauthenticated("admin", "password");
+	}
+}
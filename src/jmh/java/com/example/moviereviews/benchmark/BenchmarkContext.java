@@ -0,0 +1,72 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.MovieReviewServiceApplication;
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.service.MovieService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BenchmarkContext {
+
+	static final String[] GENRES = {"Drama", "Comedy", "Thriller", "Sci-Fi", "Horror"};
+
+	private BenchmarkContext() {
+	}
+
+	static ConfigurableApplicationContext start(String database, String... properties) {
+		Map<String, String> all = new LinkedHashMap<>();
+		put(all, "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+		put(all, "spring.jpa.show-sql=false");
+		put(all, "logging.level.root=WARN");
+		// setup diagnostics of the benchmarks themselves stay visible next to the JMH output
+		put(all, "logging.level.com.example.moviereviews.benchmark=INFO");
+		for (String property : properties) {
+			put(all, property);
+		}
+		// command-line arguments, unlike default properties, take precedence over application.properties
+		String[] args = all.entrySet().stream()
+			.map(property -> "--" + property.getKey() + "=" + property.getValue())
+			.toArray(String[]::new);
+		return new SpringApplicationBuilder(MovieReviewServiceApplication.class)
+			.web(WebApplicationType.NONE)
+			.run(args);
+	}
+
+	static List<Long> seedMovies(MovieService movieService, int movies, int reviewsPerMovie) {
+		List<Long> ids = new ArrayList<>(movies);
+		for (int i = 0; i < movies; i++) {
+			List<ReviewRequestDto> reviews = new ArrayList<>(reviewsPerMovie);
+			for (int r = 0; r < reviewsPerMovie; r++) {
+				reviews.add(review(1 + (i + r) % 5));
+			}
+			ids.add(movieService.createMovieWithReviews(MovieRequestDto.builder()
+				.title("Movie " + i)
+				.releaseYear(1970 + i % 50)
+				.genre(GENRES[i % GENRES.length])
+				.director("Director " + i % 40)
+				.reviews(reviews)
+				.build()).getId());
+		}
+		return ids;
+	}
+
+	private static void put(Map<String, String> properties, String property) {
+		int separator = property.indexOf('=');
+		properties.put(property.substring(0, separator), property.substring(separator + 1));
+	}
+
+	static ReviewRequestDto review(int rating) {
+		return ReviewRequestDto.builder()
+			.rating(rating)
+			.comment("Benchmark review with a comment of typical length")
+			.reviewerName("Reviewer")
+			.build();
+	}
+}
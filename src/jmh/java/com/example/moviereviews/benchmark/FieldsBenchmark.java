@@ -0,0 +1,61 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.service.FieldProjection;
+import com.example.moviereviews.service.MovieService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldsBenchmark {
+
+	private static final PageRequest PAGE = PageRequest.of(0, 50);
+	private static final List<String> TITLE_ONLY = FieldProjection.MOVIE.parse("title");
+
+	private ConfigurableApplicationContext context;
+	private MovieService movieService;
+	private CacheManager cacheManager;
+	private ObjectMapper objectMapper;
+
+	@Setup(Level.Trial)
+	public void startApplication() throws JsonProcessingException {
+		context = BenchmarkContext.start("fields-benchmark");
+		movieService = context.getBean(MovieService.class);
+		cacheManager = context.getBean(CacheManager.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		BenchmarkContext.seedMovies(movieService, 1000, 20);
+		log.info("Payload bytes for {} movies: full={}, fields=title={}", PAGE.getPageSize(),
+			fullPageCold().length(), titlesOnlyCold().length());
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		context.close();
+	}
+
+	@Benchmark
+	public String fullPageCold() throws JsonProcessingException {
+		cacheManager.getCache(CacheInvalidator.MOVIES).evict(PAGE);
+		return objectMapper.writeValueAsString(movieService.getAllMovies(PAGE));
+	}
+
+	@Benchmark
+	public String titlesOnlyCold() throws JsonProcessingException {
+		cacheManager.getCache(CacheInvalidator.MOVIES).evict(CacheInvalidator.fieldsKey(PAGE, TITLE_ONLY));
+		return objectMapper.writeValueAsString(movieService.getMovieFieldsPage(PAGE, TITLE_ONLY));
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.mapper.MovieMapper;
+import com.example.moviereviews.mapper.ReviewMapper;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.model.Review;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({"0", "10", "100", "1000"})
+	private int reviewCount;
+
+	private ReviewMapper reviewMapper;
+	private MovieMapper movieMapper;
+	private Movie movie;
+
+	@Setup
+	public void setUp() {
+		reviewMapper = new ReviewMapper();
+		movieMapper = new MovieMapper(reviewMapper);
+		movie = Movie.builder()
+			.id(1L)
+			.title("Inception")
+			.releaseYear(2010)
+			.genre("Sci-Fi")
+			.director("Christopher Nolan")
+			.build();
+		List<Review> reviews = new ArrayList<>(reviewCount);
+		for (int i = 0; i < reviewCount; i++) {
+			reviews.add(Review.builder()
+				.id((long) i)
+				.rating(1 + i % 5)
+				.comment("Benchmark review with a comment of typical length")
+				.reviewerName("Reviewer " + i)
+				.movie(movie)
+				.build());
+		}
+		movie.setReviews(reviews);
+		movie.recalculateRatingAggregates();
+	}
+
+	@Benchmark
+	public MovieResponseDto movieToResponseDto() {
+		return movieMapper.toResponseDto(movie);
+	}
+
+	@Benchmark
+	public void reviewsToResponseDto(Blackhole blackhole) {
+		for (Review review : movie.getReviews()) {
+			blackhole.consume(reviewMapper.toResponseDto(review));
+		}
+	}
+}
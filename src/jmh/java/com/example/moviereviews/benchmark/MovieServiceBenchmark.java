@@ -0,0 +1,81 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.service.GenreLeaderboard;
+import com.example.moviereviews.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+	private static final String GENRE = "Drama";
+
+	@Param({"10", "50", "200"})
+	private int pageSize;
+
+	private ConfigurableApplicationContext context;
+	private MovieService movieService;
+	private GenreLeaderboard genreLeaderboard;
+	private CacheManager cacheManager;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		context = BenchmarkContext.start("movie-service-benchmark");
+		movieService = context.getBean(MovieService.class);
+		genreLeaderboard = context.getBean(GenreLeaderboard.class);
+		cacheManager = context.getBean(CacheManager.class);
+		BenchmarkContext.seedMovies(movieService, 1000, 10);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<MovieSummaryDto> topRatedByGenreCold() {
+		genreLeaderboard.seed();
+		return movieService.findTopRatedMoviesByGenre(GENRE, pageSize);
+	}
+
+	@Benchmark
+	public List<MovieSummaryDto> topRatedByGenreWarm() {
+		return movieService.findTopRatedMoviesByGenre(GENRE, pageSize);
+	}
+
+	@Benchmark
+	public List<MovieResponseDto> moviesByGenreCold() {
+		cacheManager.getCache("movies").evict(GENRE);
+		return movieService.findMoviesByGenre(GENRE);
+	}
+
+	@Benchmark
+	public List<MovieResponseDto> moviesByGenreWarm() {
+		return movieService.findMoviesByGenre(GENRE);
+	}
+
+	@Benchmark
+	public Page<MovieResponseDto> allMoviesCold() {
+		PageRequest page = PageRequest.of(0, pageSize);
+		cacheManager.getCache("movies").evict(page);
+		return movieService.getAllMovies(page);
+	}
+
+	@Benchmark
+	public Page<MovieResponseDto> allMoviesWarm() {
+		return movieService.getAllMovies(PageRequest.of(0, pageSize));
+	}
+}
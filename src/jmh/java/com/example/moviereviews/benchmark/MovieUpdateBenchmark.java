@@ -0,0 +1,96 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.dto.MoviePatchRequestDto;
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieUpdateBenchmark {
+
+	@Param({"5000"})
+	private int reviewsPerMovie;
+
+	private ConfigurableApplicationContext context;
+	private MovieService movieService;
+	private Long replacedMovieId;
+	private Long mergedMovieId;
+	private Long patchedMovieId;
+	private MovieRequestDto withoutReviewIds;
+	private MovieRequestDto withReviewIds;
+	private long invocation;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		context = BenchmarkContext.start("movie-update-benchmark");
+		movieService = context.getBean(MovieService.class);
+		List<Long> ids = BenchmarkContext.seedMovies(movieService, 3, reviewsPerMovie);
+		replacedMovieId = ids.get(0);
+		mergedMovieId = ids.get(1);
+		patchedMovieId = ids.get(2);
+
+		MovieResponseDto merged = movieService.getMovieById(mergedMovieId);
+		List<ReviewRequestDto> reviewsWithIds = new ArrayList<>(merged.getReviews().size());
+		List<ReviewRequestDto> reviewsWithoutIds = new ArrayList<>(merged.getReviews().size());
+		merged.getReviews().forEach(review -> {
+			reviewsWithIds.add(ReviewRequestDto.builder()
+				.id(review.getId())
+				.rating(review.getRating())
+				.comment(review.getComment())
+				.reviewerName(review.getReviewerName())
+				.build());
+			reviewsWithoutIds.add(BenchmarkContext.review(review.getRating()));
+		});
+		withReviewIds = request(merged, reviewsWithIds);
+		withoutReviewIds = request(merged, reviewsWithoutIds);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		context.close();
+	}
+
+	@Benchmark
+	public MovieResponseDto replaceAllReviews() {
+		withoutReviewIds.setTitle(nextTitle());
+		return movieService.updateMovie(replacedMovieId, withoutReviewIds);
+	}
+
+	@Benchmark
+	public MovieResponseDto mergeUnchangedReviews() {
+		withReviewIds.setTitle(nextTitle());
+		return movieService.updateMovie(mergedMovieId, withReviewIds);
+	}
+
+	@Benchmark
+	public MovieSummaryDto patchTitle() {
+		return movieService.patchMovie(patchedMovieId, MoviePatchRequestDto.builder().title(nextTitle()).build(), null);
+	}
+
+	private String nextTitle() {
+		return "Movie " + invocation++;
+	}
+
+	private static MovieRequestDto request(MovieResponseDto movie, List<ReviewRequestDto> reviews) {
+		return MovieRequestDto.builder()
+			.title(movie.getTitle())
+			.releaseYear(movie.getReleaseYear())
+			.genre(movie.getGenre())
+			.director(movie.getDirector())
+			.reviews(reviews)
+			.build();
+	}
+}
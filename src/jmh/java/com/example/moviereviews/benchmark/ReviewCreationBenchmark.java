@@ -0,0 +1,54 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.service.MovieService;
+import com.example.moviereviews.service.ReviewService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewCreationBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private ReviewService reviewService;
+	private List<Long> movieIds;
+
+	@Setup(Level.Trial)
+	public void startApplication() {
+		context = BenchmarkContext.start("review-creation-benchmark");
+		reviewService = context.getBean(ReviewService.class);
+		movieIds = BenchmarkContext.seedMovies(context.getBean(MovieService.class), 100, 0);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		context.close();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public ReviewResponseDto createReviewSingleThread() {
+		return createReview();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public ReviewResponseDto createReviewContended() {
+		return createReview();
+	}
+
+	private ReviewResponseDto createReview() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Long movieId = movieIds.get(random.nextInt(movieIds.size()));
+		return reviewService.createReview(movieId, BenchmarkContext.review(1 + random.nextInt(5)));
+	}
+}
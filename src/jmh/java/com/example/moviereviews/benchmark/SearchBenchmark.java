@@ -0,0 +1,61 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+	private static final int MOVIES = 50_000;
+	private static final int REVIEWS = 1_000_000;
+	private static final int VOCABULARY = 20_000;
+	private static final int WORDS_PER_REVIEW = 12;
+
+	@Param({"nolan heist", "w42 w17", "w12345 w19999 w7", "missingterm"})
+	private String query;
+
+	private InvertedIndex index;
+
+	@Setup(Level.Trial)
+	public void buildIndex() {
+		index = new InvertedIndex();
+		SplittableRandom random = new SplittableRandom(42);
+		for (long movieId = 1; movieId <= MOVIES; movieId++) {
+			index.indexMovie(movieId, "Movie " + word(random) + " " + (movieId % 100 == 0 ? "Christopher Nolan" : "Director " + word(random)));
+		}
+		StringBuilder comment = new StringBuilder();
+		for (long reviewId = 1; reviewId <= REVIEWS; reviewId++) {
+			comment.setLength(0);
+			for (int w = 0; w < WORDS_PER_REVIEW; w++) {
+				comment.append(word(random)).append(' ');
+			}
+			if (reviewId % 1000 == 0) {
+				comment.append("heist");
+			}
+			index.indexReview(reviewId, 1 + random.nextInt(MOVIES), comment.toString());
+		}
+	}
+
+	@Benchmark
+	public InvertedIndex.SearchHits firstPage() {
+		return index.search(query, 0, 10);
+	}
+
+	@Benchmark
+	public InvertedIndex.SearchHits deepPage() {
+		return index.search(query, 1000, 10);
+	}
+
+	private static String word(SplittableRandom random) {
+		double skewed = Math.pow(random.nextDouble(), 3);
+		return "w" + (int) (skewed * VOCABULARY);
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.moviereviews.benchmark;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.model.Review;
+import com.example.moviereviews.repository.MovieRatingAggregate;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+	private static final int MOVIES = 10_000;
+	private static final int REVIEWS_PER_MOVIE = 100;
+	private static final int INSERT_BATCH = 10_000;
+
+	@Param({"true", "false"})
+	private boolean indexed;
+
+	private ConfigurableApplicationContext context;
+	private MovieRepository movieRepository;
+	private ReviewRepository reviewRepository;
+	private TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void startApplication() throws IOException {
+		Path storage = Path.of("target", "storage-benchmark", indexed ? "indexed" : "unindexed");
+		FileSystemUtils.deleteRecursively(storage);
+		context = BenchmarkContext.start("storage-benchmark",
+			"spring.profiles.active=persistent",
+			"spring.datasource.url=jdbc:h2:file:" + storage.toAbsolutePath().resolve("moviesdb")
+				+ ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+		movieRepository = context.getBean(MovieRepository.class);
+		reviewRepository = context.getBean(ReviewRepository.class);
+		readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnly.setReadOnly(true);
+
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		seed(jdbcTemplate);
+		if (!indexed) {
+			jdbcTemplate.execute("ALTER TABLE review DROP CONSTRAINT fk_review_movie");
+			jdbcTemplate.execute("DROP INDEX idx_review_movie_id_id");
+			jdbcTemplate.execute("DROP INDEX idx_review_movie_id_rating");
+			jdbcTemplate.execute("DROP INDEX idx_movie_genre_average_rating");
+		}
+		jdbcTemplate.execute("ANALYZE");
+		logPlans(jdbcTemplate);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<MovieSummaryDto> moviesByGenre() {
+		String genre = BenchmarkContext.GENRES[ThreadLocalRandom.current().nextInt(BenchmarkContext.GENRES.length)];
+		return readOnly.execute(status -> movieRepository.findSummariesByGenre(genre));
+	}
+
+	@Benchmark
+	public Optional<MovieRatingAggregate> ratingAggregateForMovie() {
+		long movieId = randomMovieId();
+		return readOnly.execute(status -> reviewRepository.aggregateRatingsForMovie(movieId));
+	}
+
+	@Benchmark
+	public List<Review> firstReviewPageOfMovie() {
+		long movieId = randomMovieId();
+		return readOnly.execute(status -> reviewRepository.findByMovieIdAndIdGreaterThanOrderByIdAsc(movieId, 0L, Limit.of(21)));
+	}
+
+	private static long randomMovieId() {
+		return 1 + ThreadLocalRandom.current().nextInt(MOVIES);
+	}
+
+	private static void seed(JdbcTemplate jdbcTemplate) {
+		List<Object[]> movies = new ArrayList<>(MOVIES);
+		for (int i = 1; i <= MOVIES; i++) {
+			long sum = 0;
+			for (int r = 0; r < REVIEWS_PER_MOVIE; r++) {
+				sum += rating(i, r);
+			}
+			movies.add(new Object[]{i, "Movie " + i, 1970 + i % 50, BenchmarkContext.GENRES[i % BenchmarkContext.GENRES.length],
+				"Director " + i % 40, sum, REVIEWS_PER_MOVIE, (double) sum / REVIEWS_PER_MOVIE});
+		}
+		jdbcTemplate.batchUpdate("""
+			INSERT INTO movie (id, title, release_year, genre, director, rating_sum, rating_count, average_rating)
+			VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+			""", movies);
+
+		List<Object[]> reviews = new ArrayList<>(INSERT_BATCH);
+		long reviewId = 1;
+		for (int r = 0; r < REVIEWS_PER_MOVIE; r++) {
+			for (int i = 1; i <= MOVIES; i++) {
+				reviews.add(new Object[]{reviewId++, rating(i, r), "Benchmark review with a comment of typical length", "Reviewer", i});
+				if (reviews.size() == INSERT_BATCH) {
+					insertReviews(jdbcTemplate, reviews);
+				}
+			}
+		}
+		insertReviews(jdbcTemplate, reviews);
+		jdbcTemplate.execute("ALTER SEQUENCE review_seq RESTART WITH " + reviewId);
+	}
+
+	private static void insertReviews(JdbcTemplate jdbcTemplate, List<Object[]> reviews) {
+		jdbcTemplate.batchUpdate("INSERT INTO review (id, rating, comment, reviewer_name, movie_id) VALUES (?, ?, ?, ?, ?)", reviews);
+		reviews.clear();
+	}
+
+	private static int rating(int movie, int review) {
+		return 1 + (movie * 31 + review) % 5;
+	}
+
+	private static void logPlans(JdbcTemplate jdbcTemplate) {
+		List<String> queries = List.of(
+			"SELECT id, title, average_rating FROM movie WHERE genre = 'Drama'",
+			"SELECT movie_id, SUM(rating), COUNT(*) FROM review WHERE movie_id = 42 GROUP BY movie_id",
+			"SELECT * FROM review WHERE movie_id = 42 AND id > 0 ORDER BY id LIMIT 21");
+		for (String query : queries) {
+			String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+			log.info("EXPLAIN {}\n    {}", query, plan.replace("\n", "\n    "));
+		}
+	}
+}
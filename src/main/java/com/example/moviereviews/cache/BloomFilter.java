@@ -0,0 +1,78 @@
+package com.example.moviereviews.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+
+	private static final double LN2 = Math.log(2);
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+	private final long capacity;
+	private final AtomicLong insertions = new AtomicLong();
+
+	BloomFilter(long capacity, double falsePositiveProbability) {
+		this.capacity = Math.max(capacity, 1);
+		long bits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveProbability) / (LN2 * LN2));
+		int wordCount = (int) Math.min(Math.max((bits + 63) / 64, 1), Integer.MAX_VALUE - 8);
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * LN2));
+	}
+
+	void put(long id) {
+		long hash = mix(id);
+		long h1 = hash;
+		long h2 = (hash >>> 32) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while ((current & mask) == 0) {
+				long witness = words.compareAndExchange(word, current, current | mask);
+				if (witness == current) {
+					break;
+				}
+				current = witness;
+			}
+		}
+		insertions.incrementAndGet();
+	}
+
+	boolean mightContain(long id) {
+		long hash = mix(id);
+		long h1 = hash;
+		long h2 = (hash >>> 32) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	long capacity() {
+		return capacity;
+	}
+
+	long insertions() {
+		return insertions.get();
+	}
+
+	double expectedFalsePositiveProbability() {
+		return Math.pow(1 - Math.exp(-(double) hashCount * insertions.get() / bitCount), hashCount);
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.ChangeType;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+	public static final String MOVIES = "movies";
+	public static final String REVIEWS = "reviews";
+
+	private final CacheManager cacheManager;
+	private final CachedPageIndex cachedPageIndex;
+
+	public static Object summaryKey(Object key) {
+		return List.of("summary", key);
+	}
+
+	public static Object fieldsKey(Object key, List<String> fields) {
+		return List.of("fields", key, fields);
+	}
+
+	// runs before other listeners of the same event so that CacheWarmer sees the keys already evicted
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		evict(MOVIES, event.movieId());
+		evictGenre(event.previousGenre());
+		if (event.movie() != null) {
+			evictGenre(event.movie().getGenre());
+		}
+
+		if (event.type() == ChangeType.UPDATED) {
+			evictPagesContaining(MOVIES, event.movieId());
+		} else {
+			evictAllPages(MOVIES);
+		}
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewChanged(ReviewChangedEvent event) {
+		ReviewResponseDto review = event.review();
+		evict(REVIEWS, review.getId());
+		if (event.type() == ChangeType.UPDATED) {
+			evictPagesContaining(REVIEWS, review.getId());
+		} else {
+			evictAllPages(REVIEWS);
+		}
+
+		evict(MOVIES, review.getMovieId());
+		evictGenre(event.genre());
+		evictPagesContaining(MOVIES, review.getMovieId());
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		evictAllPages(REVIEWS);
+		for (Long movieId : event.movieIds()) {
+			evict(MOVIES, movieId);
+			evictPagesContaining(MOVIES, movieId);
+		}
+		event.genres().forEach(this::evictGenre);
+	}
+
+	private void evictGenre(String genre) {
+		if (genre == null) {
+			return;
+		}
+		evict(MOVIES, genre);
+		evict(MOVIES, summaryKey(genre));
+	}
+
+	private void evictPagesContaining(String cacheName, Long id) {
+		if (id == null) {
+			return;
+		}
+		List<Object> keys = cachedPageIndex.keysContaining(cacheName, id);
+		for (Object key : keys) {
+			cachedPageIndex.forget(cacheName, key);
+			evict(cacheName, key);
+		}
+	}
+
+	private void evictAllPages(String cacheName) {
+		for (Object key : cachedPageIndex.removeAll(cacheName)) {
+			evict(cacheName, key);
+		}
+	}
+
+	private void evict(String cacheName, Object key) {
+		if (key == null) {
+			return;
+		}
+		Cache cache = cacheManager.getCache(cacheName);
+		if (cache != null) {
+			cachedPageIndex.invalidating(cacheName);
+			cache.evict(key);
+		}
+	}
+}
\ No newline at end of file
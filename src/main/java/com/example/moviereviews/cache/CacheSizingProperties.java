@@ -0,0 +1,43 @@
+package com.example.moviereviews.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSizingProperties {
+
+	private Map<String, Spec> specs = new LinkedHashMap<>();
+	private Response response = new Response();
+	private WarmUp warmUp = new WarmUp();
+
+	@Data
+	public static class Spec {
+		private long maxWeight = 32L * 1024 * 1024;
+		private Duration expireAfterWrite = Duration.ofMinutes(10);
+	}
+
+	@Data
+	public static class Response {
+		private boolean enabled = true;
+		private long maxBytes = 64L * 1024 * 1024;
+		private Duration expireAfterWrite = Duration.ofMinutes(10);
+		private boolean offHeap = false;
+	}
+
+	@Data
+	public static class WarmUp {
+		private boolean enabled = true;
+		private String file = "";
+		private int maxKeys = 50;
+		private int maxPage = 2;
+		private int maxPageSize = 50;
+		private int parallelism = 2;
+		private Duration startupTimeout = Duration.ofSeconds(30);
+		private Duration rewarmDelay = Duration.ofMillis(500);
+	}
+}
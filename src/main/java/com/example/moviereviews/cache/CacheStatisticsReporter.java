@@ -0,0 +1,34 @@
+package com.example.moviereviews.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatisticsReporter {
+
+	private final CacheManager cacheManager;
+
+	@Scheduled(fixedDelayString = "${app.cache.stats-log-interval}", initialDelayString = "${app.cache.stats-log-interval}")
+	public void report() {
+		for (String name : cacheManager.getCacheNames()) {
+			if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+				continue;
+			}
+			var nativeCache = caffeineCache.getNativeCache();
+			CacheStats stats = nativeCache.stats();
+			long weightedSize = nativeCache.policy().eviction()
+				.map(eviction -> eviction.weightedSize().orElse(0L))
+				.orElse(0L);
+			log.info("Cache '{}': entries={}, weight={} bytes, hitRate={}, hits={}, misses={}, evictions={}",
+				name, nativeCache.estimatedSize(), weightedSize, String.format("%.3f", stats.hitRate()),
+				stats.hitCount(), stats.missCount(), stats.evictionCount());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.moviereviews.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class CachedPageIndex {
+
+	private final ConcurrentMap<String, PageIndex> indexes = new ConcurrentHashMap<>();
+
+	// a page's ids are known only once it is loaded, so until then the key is reported as in flight to every
+	// invalidation; evicting a key that a sync cache is still loading waits for the load and drops its result
+	public <T> T load(String cacheName, Object key, Supplier<T> loader, Function<T, Collection<Long>> ids) {
+		PageIndex index = indexFor(cacheName);
+		index.loading(key);
+		try {
+			T value = loader.get();
+			register(cacheName, key, value, ids.apply(value));
+			return value;
+		} finally {
+			index.loaded(key);
+		}
+	}
+
+	public void register(String cacheName, Object key, Object value, Collection<Long> ids) {
+		indexFor(cacheName).register(key, value, ids);
+	}
+
+	public List<Object> keysContaining(String cacheName, Long id) {
+		return indexFor(cacheName).keysContaining(id);
+	}
+
+	public List<Object> removeAll(String cacheName) {
+		return indexFor(cacheName).removeAll();
+	}
+
+	public void forget(String cacheName, Object key) {
+		indexFor(cacheName).forget(key);
+	}
+
+	// an eviction can be reported after the same key was reloaded and re-registered, so only the registration
+	// made for the evicted value itself may be dropped
+	public void forgetIfRegistered(String cacheName, Object key, Object value) {
+		indexFor(cacheName).forgetIfRegistered(key, value);
+	}
+
+	// bumped before every eviction, so a batch read that cannot hold the key while loading can tell whether an
+	// invalidation ran since it started
+	public long generation(String cacheName) {
+		return indexFor(cacheName).generation.get();
+	}
+
+	public void invalidating(String cacheName) {
+		indexFor(cacheName).generation.incrementAndGet();
+	}
+
+	private PageIndex indexFor(String cacheName) {
+		return indexes.computeIfAbsent(cacheName, name -> new PageIndex());
+	}
+
+	private static final class PageIndex {
+
+		private final Map<Object, Registration> registrationsByKey = new HashMap<>();
+		private final Map<Long, Set<Object>> keysById = new HashMap<>();
+		private final Map<Object, Integer> inFlight = new HashMap<>();
+		private final AtomicLong generation = new AtomicLong();
+
+		synchronized void loading(Object key) {
+			inFlight.merge(key, 1, Integer::sum);
+		}
+
+		synchronized void loaded(Object key) {
+			inFlight.computeIfPresent(key, (k, loads) -> loads > 1 ? loads - 1 : null);
+		}
+
+		synchronized void register(Object key, Object value, Collection<Long> ids) {
+			forget(key);
+			Set<Long> pageIds = new HashSet<>(ids);
+			registrationsByKey.put(key, new Registration(value, pageIds));
+			for (Long id : pageIds) {
+				keysById.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+			}
+		}
+
+		synchronized List<Object> keysContaining(Long id) {
+			Set<Object> keys = new HashSet<>(inFlight.keySet());
+			keys.addAll(keysById.getOrDefault(id, Set.of()));
+			return List.copyOf(keys);
+		}
+
+		synchronized List<Object> removeAll() {
+			Set<Object> keys = new HashSet<>(inFlight.keySet());
+			keys.addAll(registrationsByKey.keySet());
+			registrationsByKey.clear();
+			keysById.clear();
+			return List.copyOf(keys);
+		}
+
+		synchronized void forgetIfRegistered(Object key, Object value) {
+			Registration registration = registrationsByKey.get(key);
+			if (registration != null && registration.value() == value) {
+				forget(key);
+			}
+		}
+
+		synchronized void forget(Object key) {
+			Registration registration = registrationsByKey.remove(key);
+			if (registration == null) {
+				return;
+			}
+			for (Long id : registration.ids()) {
+				Set<Object> keys = keysById.get(id);
+				if (keys != null) {
+					keys.remove(key);
+					if (keys.isEmpty()) {
+						keysById.remove(id);
+					}
+				}
+			}
+		}
+	}
+
+	private record Registration(Object value, Set<Long> ids) {
+	}
+}
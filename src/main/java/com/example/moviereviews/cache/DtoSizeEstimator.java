@@ -0,0 +1,72 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.Map;
+
+public final class DtoSizeEstimator {
+
+	private static final long OBJECT_HEADER = 16;
+	private static final long REFERENCE = 8;
+	private static final long BOXED_LONG = 24;
+	private static final long STRING_OVERHEAD = 40;
+	private static final long LIST_OVERHEAD = 40;
+	private static final long PAGE_OVERHEAD = 96;
+	private static final long MAP_OVERHEAD = 64;
+	private static final long MAP_ENTRY = 32;
+
+	private DtoSizeEstimator() {
+	}
+
+	public static int weigh(Object key, Object value) {
+		long bytes = estimate(key) + estimate(value);
+		return (int) Math.min(bytes, Integer.MAX_VALUE);
+	}
+
+	public static long estimate(Object value) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof MovieResponseDto movie) {
+			return OBJECT_HEADER + BOXED_LONG + 4 + 4 * REFERENCE
+				+ estimate(movie.getTitle()) + estimate(movie.getGenre()) + estimate(movie.getDirector())
+				+ estimate(movie.getReviews());
+		}
+		if (value instanceof ReviewResponseDto review) {
+			return OBJECT_HEADER + 2 * BOXED_LONG + 4 + 2 * REFERENCE
+				+ estimate(review.getComment()) + estimate(review.getReviewerName());
+		}
+		if (value instanceof MovieSummaryDto summary) {
+			return OBJECT_HEADER + 2 * BOXED_LONG + 4 + 8 + 4 + 3 * REFERENCE
+				+ estimate(summary.getTitle()) + estimate(summary.getGenre()) + estimate(summary.getDirector());
+		}
+		if (value instanceof String string) {
+			return STRING_OVERHEAD + 2L * string.length();
+		}
+		if (value instanceof Number) {
+			return BOXED_LONG;
+		}
+		if (value instanceof Map<?, ?> map) {
+			long bytes = MAP_OVERHEAD + MAP_ENTRY * map.size();
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				bytes += estimate(entry.getKey()) + estimate(entry.getValue());
+			}
+			return bytes;
+		}
+		if (value instanceof Page<?> page) {
+			return PAGE_OVERHEAD + estimate(page.getContent());
+		}
+		if (value instanceof Collection<?> collection) {
+			long bytes = LIST_OVERHEAD + REFERENCE * collection.size();
+			for (Object element : collection) {
+				bytes += estimate(element);
+			}
+			return bytes;
+		}
+		return OBJECT_HEADER + 4 * REFERENCE;
+	}
+}
\ No newline at end of file
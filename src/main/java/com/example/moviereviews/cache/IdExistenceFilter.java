@@ -0,0 +1,250 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.event.ChangeType;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class IdExistenceFilter {
+
+	private static final long MIN_CAPACITY = 1024;
+
+	public enum Kind {
+		MOVIE, REVIEW;
+
+		String tag() {
+			return name().toLowerCase();
+		}
+	}
+
+	private final MovieRepository movieRepository;
+	private final ReviewRepository reviewRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final boolean enabled;
+	private final double falsePositiveProbability;
+	private final Map<Kind, Slot> slots = new EnumMap<>(Kind.class);
+
+	public IdExistenceFilter(MovieRepository movieRepository,
+							 ReviewRepository reviewRepository,
+							 PlatformTransactionManager transactionManager,
+							 MeterRegistry meterRegistry,
+							 @Value("${app.existence-filter.enabled}") boolean enabled,
+							 @Value("${app.existence-filter.false-positive-probability}") double falsePositiveProbability) {
+		this.movieRepository = movieRepository;
+		this.reviewRepository = reviewRepository;
+		this.transactionManager = transactionManager;
+		this.enabled = enabled;
+		this.falsePositiveProbability = falsePositiveProbability;
+		for (Kind kind : Kind.values()) {
+			slots.put(kind, new Slot(kind, meterRegistry));
+		}
+	}
+
+	@PostConstruct
+	public void build() {
+		if (!enabled) {
+			log.info("Id existence filters are disabled");
+			return;
+		}
+		for (Kind kind : Kind.values()) {
+			rebuild(kind);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.existence-filter.rebuild-interval}", initialDelayString = "${app.existence-filter.rebuild-interval}")
+	public void rebuildStale() {
+		if (!enabled) {
+			return;
+		}
+		for (Kind kind : Kind.values()) {
+			Slot slot = slots.get(kind);
+			BloomFilter current = slot.current;
+			if (slot.deletions.get() > 0 || current == null || current.insertions() > current.capacity()) {
+				rebuild(kind);
+			}
+		}
+	}
+
+	// repairs anything a missed add could have left out, even when no deletions made the filter stale
+	@Scheduled(fixedDelayString = "${app.existence-filter.full-rebuild-interval}", initialDelayString = "${app.existence-filter.full-rebuild-interval}")
+	public void rebuildAll() {
+		if (!enabled) {
+			return;
+		}
+		for (Kind kind : Kind.values()) {
+			rebuild(kind);
+		}
+	}
+
+	public boolean mightContain(Kind kind, Long id) {
+		Slot slot = slots.get(kind);
+		BloomFilter current = slot.current;
+		if (!enabled || id == null || current == null) {
+			return true;
+		}
+		if (current.mightContain(id)) {
+			slot.maybePresent.increment();
+			return true;
+		}
+		slot.absent.increment();
+		return false;
+	}
+
+	public void recordFalsePositive(Kind kind) {
+		if (enabled) {
+			slots.get(kind).falsePositives.increment();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onMovieCommitting(MovieChangedEvent event) {
+		if (event.type() == ChangeType.CREATED) {
+			add(Kind.MOVIE, event.movieId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		// added again after commit so that a rebuild scanning concurrently cannot miss the id
+		if (event.type() == ChangeType.CREATED) {
+			add(Kind.MOVIE, event.movieId());
+		} else if (event.type() == ChangeType.DELETED) {
+			slots.get(Kind.MOVIE).deletions.incrementAndGet();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onReviewCommitting(ReviewChangedEvent event) {
+		if (event.type() == ChangeType.CREATED) {
+			add(Kind.REVIEW, event.review().getId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewChanged(ReviewChangedEvent event) {
+		if (event.type() == ChangeType.CREATED) {
+			add(Kind.REVIEW, event.review().getId());
+		} else if (event.type() == ChangeType.DELETED) {
+			slots.get(Kind.REVIEW).deletions.incrementAndGet();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onReviewsCommitting(ReviewsCreatedEvent event) {
+		event.reviewIds().forEach(id -> add(Kind.REVIEW, id));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		event.reviewIds().forEach(id -> add(Kind.REVIEW, id));
+	}
+
+	private void add(Kind kind, Long id) {
+		if (!enabled || id == null) {
+			return;
+		}
+		Slot slot = slots.get(kind);
+		// building is read first: rebuild publishes current before clearing building, so a swap between
+		// the two reads still leaves the id in the filter that ends up current
+		BloomFilter building = slot.building;
+		if (building != null) {
+			building.put(id);
+		}
+		BloomFilter current = slot.current;
+		if (current != null) {
+			current.put(id);
+		}
+	}
+
+	private synchronized void rebuild(Kind kind) {
+		long started = System.nanoTime();
+		Slot slot = slots.get(kind);
+		long deletions = slot.deletions.get();
+		long expected = kind == Kind.MOVIE ? movieRepository.count() : reviewRepository.count();
+		BloomFilter next = new BloomFilter(Math.max(expected * 2, MIN_CAPACITY), falsePositiveProbability);
+		slot.building = next;
+		try {
+			TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+			transaction.setReadOnly(true);
+			transaction.executeWithoutResult(status -> {
+				Supplier<Stream<Long>> ids = kind == Kind.MOVIE ? movieRepository::streamAllIds : reviewRepository::streamAllIds;
+				try (Stream<Long> stream = ids.get()) {
+					stream.forEach(next::put);
+				}
+			});
+			slot.current = next;
+			slot.deletions.addAndGet(-deletions);
+		} finally {
+			slot.building = null;
+		}
+		log.info("Rebuilt {} id filter: {} ids, capacity {}, expected false positive rate {} in {} ms",
+			kind.tag(), next.insertions(), next.capacity(), String.format("%.5f", next.expectedFalsePositiveProbability()),
+			(System.nanoTime() - started) / 1_000_000);
+	}
+
+	private static final class Slot {
+
+		private volatile BloomFilter current;
+		private volatile BloomFilter building;
+		private final AtomicLong deletions = new AtomicLong();
+		private final Counter absent;
+		private final Counter maybePresent;
+		private final Counter falsePositives;
+
+		private Slot(Kind kind, MeterRegistry meterRegistry) {
+			absent = Counter.builder("id.filter.checks").tag("entity", kind.tag()).tag("result", "absent")
+				.description("Lookups answered as missing by the id filter without a query")
+				.register(meterRegistry);
+			maybePresent = Counter.builder("id.filter.checks").tag("entity", kind.tag()).tag("result", "maybe_present")
+				.description("Lookups passed through the id filter to the repository")
+				.register(meterRegistry);
+			falsePositives = Counter.builder("id.filter.false.positives").tag("entity", kind.tag())
+				.description("Lookups passed through the id filter that found no row")
+				.register(meterRegistry);
+			Gauge.builder("id.filter.expected.false.positive.rate", this, Slot::expectedFalsePositiveRate)
+				.tag("entity", kind.tag())
+				.register(meterRegistry);
+			Gauge.builder("id.filter.observed.false.positive.rate", this, Slot::observedFalsePositiveRate)
+				.tag("entity", kind.tag())
+				.description("Share of lookups for missing ids that the filter let through")
+				.register(meterRegistry);
+			Gauge.builder("id.filter.stale.deletions", deletions, AtomicLong::get)
+				.tag("entity", kind.tag())
+				.description("Deleted ids still set in the filter until the next rebuild")
+				.register(meterRegistry);
+		}
+
+		private double expectedFalsePositiveRate() {
+			BloomFilter filter = current;
+			return filter == null ? 0.0 : filter.expectedFalsePositiveProbability();
+		}
+
+		private double observedFalsePositiveRate() {
+			double falsePositive = falsePositives.count();
+			double missing = falsePositive + absent.count();
+			return missing == 0 ? 0.0 : falsePositive / missing;
+		}
+	}
+}
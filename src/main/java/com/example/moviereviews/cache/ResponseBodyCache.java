@@ -0,0 +1,201 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.ChangeType;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResponseBodyCache {
+
+	public static final String MOVIE_LIST_TAG = "movies:list";
+	public static final String REVIEW_LIST_TAG = "reviews:list";
+
+	private static final int MAX_TRACKED_TAGS = 100_000;
+
+	private final boolean offHeap;
+	private final Cache<String, CachedResponse> responses;
+	private final AtomicLong generation = new AtomicLong();
+	// generation at which each tag was last invalidated; tags dropped from the map count as invalidated at the floor
+	private final Map<String, Long> invalidatedAt = new HashMap<>();
+	private long invalidatedFloor;
+	private final Map<String, Set<String>> keysByTag = new HashMap<>();
+	private final Map<String, Set<String>> tagsByKey = new HashMap<>();
+
+	public ResponseBodyCache(CacheSizingProperties properties) {
+		CacheSizingProperties.Response spec = properties.getResponse();
+		this.offHeap = spec.isOffHeap();
+		this.responses = Caffeine.newBuilder()
+			.maximumWeight(spec.getMaxBytes())
+			.weigher((String key, CachedResponse response) -> key.length() * 2 + response.length())
+			.expireAfterWrite(spec.getExpireAfterWrite())
+			.removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+				if (key != null && cause.wasEvicted()) {
+					forgetIfAbsent(key);
+				}
+			})
+			.recordStats()
+			.build();
+	}
+
+	public static String movieTag(Object movieId) {
+		return "movie:" + movieId;
+	}
+
+	public static String reviewTag(Object reviewId) {
+		return "review:" + reviewId;
+	}
+
+	public static String genreTag(String genre) {
+		return "genre:" + genre;
+	}
+
+	public CachedResponse get(String key) {
+		return responses.getIfPresent(key);
+	}
+
+	public long generation() {
+		return generation.get();
+	}
+
+	public synchronized boolean put(String key, long observedGeneration, String contentType, String etag, byte[] body, Collection<String> tags) {
+		Set<String> keyTags = new HashSet<>(tags);
+		for (String tag : keyTags) {
+			if (invalidatedAt.getOrDefault(tag, invalidatedFloor) > observedGeneration) {
+				return false;
+			}
+		}
+		forget(key);
+		tagsByKey.put(key, keyTags);
+		for (String tag : keyTags) {
+			keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+		}
+		responses.put(key, new CachedResponse(contentType, etag, body.length, offHeap ? toDirect(body) : null, offHeap ? null : body));
+		return true;
+	}
+
+	public synchronized void invalidateTags(Collection<String> tags) {
+		long invalidated = generation.incrementAndGet();
+		if (invalidatedAt.size() + tags.size() > MAX_TRACKED_TAGS) {
+			invalidatedAt.clear();
+			invalidatedFloor = invalidated - 1;
+		}
+		Set<String> matched = new HashSet<>();
+		for (String tag : tags) {
+			invalidatedAt.put(tag, invalidated);
+			Set<String> tagged = keysByTag.get(tag);
+			if (tagged != null) {
+				matched.addAll(tagged);
+			}
+		}
+		matched.forEach(this::forget);
+		responses.invalidateAll(matched);
+	}
+
+	public long size() {
+		return responses.estimatedSize();
+	}
+
+	// runs after the entity caches and the genre leaderboard have applied the change, so a response
+	// rendered after the invalidation can no longer observe the old state
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		Set<String> tags = new HashSet<>();
+		tags.add(movieTag(event.movieId()));
+		if (event.previousGenre() != null) {
+			tags.add(genreTag(event.previousGenre()));
+		}
+		if (event.movie() != null && event.movie().getGenre() != null) {
+			tags.add(genreTag(event.movie().getGenre()));
+		}
+		if (event.type() != ChangeType.UPDATED) {
+			tags.add(MOVIE_LIST_TAG);
+		}
+		invalidateTags(tags);
+	}
+
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewChanged(ReviewChangedEvent event) {
+		ReviewResponseDto review = event.review();
+		Set<String> tags = new HashSet<>();
+		tags.add(reviewTag(review.getId()));
+		tags.add(movieTag(review.getMovieId()));
+		if (event.genre() != null) {
+			tags.add(genreTag(event.genre()));
+		}
+		if (event.type() != ChangeType.UPDATED) {
+			tags.add(REVIEW_LIST_TAG);
+		}
+		invalidateTags(tags);
+	}
+
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		Set<String> tags = new HashSet<>();
+		tags.add(REVIEW_LIST_TAG);
+		event.movieIds().forEach(movieId -> tags.add(movieTag(movieId)));
+		event.genres().forEach(genre -> tags.add(genreTag(genre)));
+		invalidateTags(tags);
+	}
+
+	private synchronized void forgetIfAbsent(String key) {
+		if (!responses.asMap().containsKey(key)) {
+			forget(key);
+		}
+	}
+
+	private void forget(String key) {
+		Set<String> tags = tagsByKey.remove(key);
+		if (tags == null) {
+			return;
+		}
+		for (String tag : tags) {
+			Set<String> keys = keysByTag.get(tag);
+			if (keys != null) {
+				keys.remove(key);
+				if (keys.isEmpty()) {
+					keysByTag.remove(tag);
+				}
+			}
+		}
+	}
+
+	private static ByteBuffer toDirect(byte[] body) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+		buffer.put(body).flip();
+		return buffer;
+	}
+
+	public record CachedResponse(String contentType, String etag, int length, ByteBuffer direct, byte[] heap) {
+
+		public void writeTo(OutputStream out) throws IOException {
+			if (heap != null) {
+				out.write(heap);
+			} else {
+				Channels.newChannel(out).write(direct.duplicate());
+			}
+		}
+	}
+}
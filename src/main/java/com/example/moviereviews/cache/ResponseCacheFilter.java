@@ -0,0 +1,183 @@
+package com.example.moviereviews.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+	public static final String CACHE_HEADER = "X-Response-Cache";
+
+	private static final Pattern MOVIE_PATH = Pattern.compile("/api/movies/(\\d+)");
+	private static final Pattern MOVIE_REVIEWS_PATH = Pattern.compile("/api/movies/(\\d+)/reviews");
+	private static final Pattern REVIEW_PATH = Pattern.compile("/api/reviews/(\\d+)");
+
+	private final ResponseBodyCache responseBodyCache;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !HttpMethod.GET.matches(request.getMethod()) || route(request) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		String key = key(request);
+		ResponseBodyCache.CachedResponse cached = responseBodyCache.get(key);
+		if (cached != null) {
+			response.setHeader(CACHE_HEADER, "HIT");
+			if (cached.etag() != null && new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+				return;
+			}
+			response.setStatus(HttpServletResponse.SC_OK);
+			response.setContentType(cached.contentType());
+			response.setContentLength(cached.length());
+			cached.writeTo(response.getOutputStream());
+			return;
+		}
+
+		long generation = responseBodyCache.generation();
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		wrapper.setHeader(CACHE_HEADER, "MISS");
+		try {
+			filterChain.doFilter(request, wrapper);
+			if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())) {
+				byte[] body = wrapper.getContentAsByteArray();
+				Set<String> tags = route(request).tags(body);
+				if (tags != null) {
+					responseBodyCache.put(key, generation, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG), body, tags);
+				}
+			}
+		} finally {
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	private Route route(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		switch (path) {
+			case "/api/movies" -> {
+				if (request.getParameter("ids") != null) {
+					return lookupRoute(request.getParameterValues("ids"), ResponseBodyCache::movieTag);
+				}
+				return new Route(Set.of(ResponseBodyCache.MOVIE_LIST_TAG), ResponseBodyCache::movieTag);
+			}
+			case "/api/reviews" -> {
+				if (request.getParameter("ids") != null) {
+					return lookupRoute(request.getParameterValues("ids"), ResponseBodyCache::reviewTag);
+				}
+				return new Route(Set.of(ResponseBodyCache.REVIEW_LIST_TAG), ResponseBodyCache::reviewTag);
+			}
+			case "/api/movies/by-genre", "/api/movies/top-by-genre" -> {
+				String genre = request.getParameter("genre");
+				return genre == null ? null : new Route(Set.of(ResponseBodyCache.genreTag(genre)), null);
+			}
+			default -> {
+				Matcher movie = MOVIE_PATH.matcher(path);
+				if (movie.matches()) {
+					return new Route(Set.of(ResponseBodyCache.movieTag(movie.group(1))), null);
+				}
+				Matcher movieReviews = MOVIE_REVIEWS_PATH.matcher(path);
+				if (movieReviews.matches()) {
+					return new Route(Set.of(ResponseBodyCache.movieTag(movieReviews.group(1))), null);
+				}
+				Matcher review = REVIEW_PATH.matcher(path);
+				if (review.matches()) {
+					return new Route(Set.of(ResponseBodyCache.reviewTag(review.group(1))), null);
+				}
+				return null;
+			}
+		}
+	}
+
+	private Route lookupRoute(String[] values, Function<Object, String> tag) {
+		Set<String> tags = new HashSet<>();
+		for (String value : values) {
+			for (String id : value.split(",")) {
+				try {
+					tags.add(tag.apply(Long.parseLong(id.trim())));
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+		}
+		return new Route(tags, null);
+	}
+
+	private static String key(HttpServletRequest request) {
+		StringBuilder key = new StringBuilder(request.getRequestURI());
+		Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+		char separator = '?';
+		for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+			for (String value : parameter.getValue()) {
+				key.append(separator).append(parameter.getKey()).append('=').append(value);
+				separator = '&';
+			}
+		}
+		return key.toString();
+	}
+
+	private static boolean isJson(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		try {
+			return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	private final class Route {
+
+		private final Set<String> tags;
+		private final Function<Object, String> contentTag;
+
+		private Route(Set<String> tags, Function<Object, String> contentTag) {
+			this.tags = tags;
+			this.contentTag = contentTag;
+		}
+
+		Set<String> tags(byte[] body) {
+			if (contentTag == null) {
+				return tags;
+			}
+			Set<String> result = new HashSet<>(tags);
+			try {
+				JsonNode content = objectMapper.readTree(body).path("content");
+				for (JsonNode item : content) {
+					if (item.hasNonNull("id")) {
+						result.add(contentTag.apply(item.get("id").asLong()));
+					}
+				}
+			} catch (IOException e) {
+				log.warn("Could not read ids from list response, not caching it", e);
+				return null;
+			}
+			return result;
+		}
+	}
+}
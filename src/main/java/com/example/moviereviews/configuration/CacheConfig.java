@@ -1,9 +1,72 @@
 package com.example.moviereviews.configuration;
 
+import com.example.moviereviews.cache.CacheSizingProperties;
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.DtoSizeEstimator;
+import com.example.moviereviews.cache.ResponseBodyCache;
+import com.example.moviereviews.cache.ResponseCacheFilter;
+import com.example.moviereviews.controller.HotKeyRecordingFilter;
+import com.example.moviereviews.service.CacheWarmer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
 
 @Configuration
-@EnableCaching
+// cache advice wraps the transactional one: hits skip the transaction, and callers waiting on an in-flight load hold no connection
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheSizingProperties.class)
 public class CacheConfig {
+
+	@Bean
+	public CacheManager cacheManager(CacheSizingProperties properties, CachedPageIndex cachedPageIndex) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.setCacheNames(List.of());
+		properties.getSpecs().forEach((name, spec) ->
+			cacheManager.registerCustomCache(name, buildCache(name, spec, cachedPageIndex)));
+		return cacheManager;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.cache.response.enabled", havingValue = "true", matchIfMissing = true)
+	public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseBodyCache responseBodyCache, ObjectMapper objectMapper) {
+		FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(responseBodyCache, objectMapper));
+		registration.addUrlPatterns("/api/movies", "/api/movies/*", "/api/reviews", "/api/reviews/*");
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+		return registration;
+	}
+
+	// ordered ahead of the response cache so that requests it answers still count towards the warm-up keys
+	@Bean
+	public FilterRegistrationBean<HotKeyRecordingFilter> hotKeyRecordingFilter(CacheWarmer cacheWarmer) {
+		FilterRegistrationBean<HotKeyRecordingFilter> registration = new FilterRegistrationBean<>(new HotKeyRecordingFilter(cacheWarmer));
+		registration.addUrlPatterns("/api/movies", "/api/movies/by-genre");
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+		return registration;
+	}
+
+	static Cache<Object, Object> buildCache(String name, CacheSizingProperties.Spec spec, CachedPageIndex cachedPageIndex) {
+		return Caffeine.newBuilder()
+			.maximumWeight(spec.getMaxWeight())
+			.weigher(DtoSizeEstimator::weigh)
+			.expireAfterWrite(spec.getExpireAfterWrite())
+			.evictionListener((key, value, cause) -> {
+				if (key != null) {
+					cachedPageIndex.forgetIfRegistered(name, key, value);
+				}
+			})
+			.recordStats()
+			.build();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.example.moviereviews.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+	private final Semaphore permits;
+	private final Duration acquireTimeout;
+
+	public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrentConnections, Duration acquireTimeout) {
+		super(target);
+		this.permits = new Semaphore(maxConcurrentConnections, true);
+		this.acquireTimeout = acquireTimeout;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(obtainTargetDataSource().getConnection());
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException("Не удалось получить соединение с БД за " + acquireTimeout.toMillis() + " мс");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Ожидание соединения с БД прервано", e);
+		}
+	}
+
+	private Connection releasingOnClose(Connection connection) {
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(
+			Connection.class.getClassLoader(),
+			new Class<?>[]{Connection.class},
+			(proxy, method, args) -> {
+				if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+					try {
+						connection.close();
+					} finally {
+						permits.release();
+					}
+					return null;
+				}
+				if ("unwrap".equals(method.getName()) && args[0] == Connection.class) {
+					return connection;
+				}
+				try {
+					return method.invoke(connection, args);
+				} catch (InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+			});
+	}
+}
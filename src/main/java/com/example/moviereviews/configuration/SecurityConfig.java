@@ -1,18 +1,29 @@
 package com.example.moviereviews.configuration;
 
+import com.example.moviereviews.security.CachingAuthenticationProvider;
+import com.example.moviereviews.security.TokenAuthenticationFilter;
+import com.example.moviereviews.security.TokenService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
-import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -24,31 +35,67 @@ public class SecurityConfig {
 	@Value("${security.user.password}")
 	private String password;
 
+	@Value("${app.auth.basic-cache.enabled}")
+	private boolean basicCacheEnabled;
+
+	@Value("${app.auth.basic-cache.max-size}")
+	private long basicCacheMaxSize;
+
+	@Value("${app.auth.basic-cache.ttl}")
+	private Duration basicCacheTtl;
+
+	@Bean
+	@Order(1)
+	public SecurityFilterChain monitoringSecurityFilterChain(HttpSecurity http) throws Exception {
+		http
+			.securityMatcher("/actuator/health", "/actuator/health/**", "/actuator/prometheus")
+			.csrf(AbstractHttpConfigurer::disable)
+			.authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+		return http.build();
+	}
+
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	@Order(2)
+	public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+												   TokenService tokenService) throws Exception {
 		http
 			.csrf(AbstractHttpConfigurer::disable)
 			.authorizeHttpRequests(auth -> auth
 				.requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 				.anyRequest().authenticated()
 			)
+			.authenticationManager(authenticationManager)
+			.addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
 			.httpBasic(Customizer.withDefaults());
 
 		return http.build();
 	}
 
 	@Bean
-	public UserDetailsService userDetailsService() {
+	public AuthenticationManager authenticationManager(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+		provider.setUserDetailsService(userDetailsService);
+		provider.setPasswordEncoder(passwordEncoder);
+		if (!basicCacheEnabled) {
+			return new ProviderManager(provider);
+		}
+		return new ProviderManager(new CachingAuthenticationProvider(provider, basicCacheMaxSize, basicCacheTtl));
+	}
+
+	@Bean
+	public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+		// a plain configured password is hashed once at startup, an already encoded "{id}..." value is used as is
 		var user = User.withUsername(username)
-			.password(password)
+			.password(password.startsWith("{") ? password : passwordEncoder.encode(password))
 			.roles("USER")
 			.build();
 		return new InMemoryUserDetailsManager(user);
 	}
 
 	@Bean
-	@SuppressWarnings("deprecation")
 	public PasswordEncoder passwordEncoder() {
-		return NoOpPasswordEncoder.getInstance();
+		return PasswordEncoderFactories.createDelegatingPasswordEncoder();
 	}
 }
\ No newline at end of file
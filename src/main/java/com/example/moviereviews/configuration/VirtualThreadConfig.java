@@ -0,0 +1,35 @@
+package com.example.moviereviews.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+	@Bean
+	static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof HikariDataSource hikari)) {
+					return bean;
+				}
+				Duration acquireTimeout = environment.getRequiredProperty("app.virtual-threads.connection-acquire-timeout", Duration.class);
+				int permits = hikari.getMaximumPoolSize();
+				log.info("Virtual threads enabled: limiting datasource '{}' to {} concurrent connections", beanName, permits);
+				return new ConcurrencyLimitedDataSource(hikari, permits, acquireTimeout);
+			}
+		};
+	}
+}
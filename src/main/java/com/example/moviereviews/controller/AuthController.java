@@ -0,0 +1,31 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.TokenResponseDto;
+import com.example.moviereviews.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Аутентификация", description = "Получение токенов доступа")
+public class AuthController {
+
+	private final TokenService tokenService;
+
+	@PostMapping("/login")
+	@Operation(summary = "Получить токен", description = "Выдать подписанный токен по логину и паролю (Basic); далее передавайте его в заголовке Authorization: Bearer до истечения срока")
+	public TokenResponseDto login(Authentication authentication) {
+		log.info("Issuing token for user {}", authentication.getName());
+		return TokenResponseDto.builder()
+			.accessToken(tokenService.issue(authentication))
+			.tokenType("Bearer")
+			.expiresIn(tokenService.ttl().toSeconds())
+			.build();
+	}
+}
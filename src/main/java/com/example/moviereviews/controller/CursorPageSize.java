@@ -0,0 +1,16 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.CursorPageDto;
+
+final class CursorPageSize {
+
+	private CursorPageSize() {
+	}
+
+	static int require(int size) {
+		if (size < 1 || size > CursorPageDto.MAX_SIZE) {
+			throw new RuntimeException("Размер страницы должен быть от 1 до " + CursorPageDto.MAX_SIZE + ": " + size);
+		}
+		return size;
+	}
+}
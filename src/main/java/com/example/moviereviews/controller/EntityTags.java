@@ -0,0 +1,122 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.LookupItemDto;
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+final class EntityTags {
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private EntityTags() {
+	}
+
+	static String movie(Long id, Long version) {
+		return entity("movie", id, version);
+	}
+
+	static String review(Long id, Long version) {
+		return entity("review", id, version);
+	}
+
+	static String movies(String scope, Collection<MovieResponseDto> movies, long total) {
+		long hash = mix(FNV_OFFSET, total);
+		for (MovieResponseDto movie : movies) {
+			hash = mix(mix(hash, movie.getId()), movie.getVersion());
+		}
+		return list("movies-" + scope, hash);
+	}
+
+	static String reviews(String scope, Collection<ReviewResponseDto> reviews, long total) {
+		long hash = mix(FNV_OFFSET, total);
+		for (ReviewResponseDto review : reviews) {
+			hash = mix(mix(hash, review.getId()), review.getVersion());
+		}
+		return list("reviews-" + scope, hash);
+	}
+
+	static String summaries(String scope, Collection<MovieSummaryDto> movies, long total) {
+		long hash = mix(FNV_OFFSET, total);
+		for (MovieSummaryDto movie : movies) {
+			hash = mix(mix(hash, movie.getId()), movie.getVersion());
+			hash = mix(mix(hash, Double.doubleToLongBits(movie.getAverageRating())), movie.getReviewCount());
+		}
+		return list("summaries-" + scope, hash);
+	}
+
+	static <T> String lookup(String kind, List<LookupItemDto<T>> items, Function<T, Long> version) {
+		long hash = mix(FNV_OFFSET, items.size());
+		for (LookupItemDto<T> item : items) {
+			hash = mix(mix(hash, item.getId()), item.isFound() ? version.apply(item.getData()) : -1L);
+		}
+		return list(kind + "-ids", hash);
+	}
+
+	static boolean noneMatch(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return true;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.equals("*") || stripWeak(tag).equals(etag)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static <T> ResponseEntity<T> notModified(String etag) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	}
+
+	static Long expectedVersion(String ifMatch, String kind, Long id) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String prefix = "\"" + kind + "-" + id + "-";
+		for (String candidate : ifMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+				try {
+					return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+				} catch (NumberFormatException ignored) {
+					// not one of our entity tags, keep looking
+				}
+			}
+		}
+		throw new PreconditionFailedException("If-Match не соответствует ресурсу " + kind + " с ID " + id);
+	}
+
+	private static String entity(String kind, Long id, Long version) {
+		return "\"" + kind + "-" + id + "-" + version + "\"";
+	}
+
+	private static String list(String scope, long hash) {
+		return "\"" + scope + "-" + Long.toHexString(hash) + "\"";
+	}
+
+	private static String stripWeak(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+
+	private static long mix(long hash, Long value) {
+		return mix(hash, value == null ? 0L : value.longValue());
+	}
+
+	private static long mix(long hash, long value) {
+		for (int shift = 0; shift < 64; shift += 8) {
+			hash ^= (value >>> shift) & 0xff;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+}
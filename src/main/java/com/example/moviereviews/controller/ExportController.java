@@ -0,0 +1,67 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.service.ExportFormat;
+import com.example.moviereviews.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Экспорт", description = "Потоковая выгрузка всех фильмов и отзывов в NDJSON или CSV")
+public class ExportController {
+
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+	private final ExportService exportService;
+
+	@GetMapping("/movies")
+	@Operation(summary = "Выгрузить все фильмы", description = "Потоковая выгрузка фильмов со средней оценкой и числом отзывов (format=ndjson|csv, gzip=true для сжатия)")
+	public ResponseEntity<StreamingResponseBody> exportMovies(
+		@RequestParam(defaultValue = "ndjson") String format,
+		@RequestParam(defaultValue = "false") boolean gzip) {
+		log.info("Exporting movies: format={}, gzip={}", format, gzip);
+		ExportFormat exportFormat = ExportFormat.of(format);
+		return stream("movies", exportFormat, gzip, out -> exportService.exportMovies(exportFormat, out));
+	}
+
+	@GetMapping("/reviews")
+	@Operation(summary = "Выгрузить все отзывы", description = "Потоковая выгрузка отзывов (format=ndjson|csv, gzip=true для сжатия)")
+	public ResponseEntity<StreamingResponseBody> exportReviews(
+		@RequestParam(defaultValue = "ndjson") String format,
+		@RequestParam(defaultValue = "false") boolean gzip) {
+		log.info("Exporting reviews: format={}, gzip={}", format, gzip);
+		ExportFormat exportFormat = ExportFormat.of(format);
+		return stream("reviews", exportFormat, gzip, out -> exportService.exportReviews(exportFormat, out));
+	}
+
+	private static ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+		String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(format.getContentType()))
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+		if (!gzip) {
+			return response.body(body);
+		}
+		return response
+			.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+			.body(out -> {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+				body.writeTo(compressed);
+				compressed.finish();
+				compressed.flush();
+			});
+	}
+}
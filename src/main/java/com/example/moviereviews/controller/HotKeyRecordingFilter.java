@@ -0,0 +1,60 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.service.CacheWarmer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// counts cacheable movie reads for CacheWarmer ahead of the response cache, whose hits never reach MovieController
+@RequiredArgsConstructor
+public class HotKeyRecordingFilter extends OncePerRequestFilter {
+
+	private final CacheWarmer cacheWarmer;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !HttpMethod.GET.matches(request.getMethod());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		try {
+			record(request);
+		} catch (RuntimeException e) {
+			// malformed parameters are left to the controller to reject
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private void record(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		switch (path) {
+			case "/api/movies" -> {
+				if (request.getParameter("ids") == null && request.getParameter("after") == null && request.getParameter("fields") == null) {
+					cacheWarmer.recordPage(intParameter(request, "page", MovieController.DEFAULT_PAGE),
+						intParameter(request, "size", MovieController.DEFAULT_SIZE), isFullView(request));
+				}
+			}
+			case "/api/movies/by-genre" -> cacheWarmer.recordGenre(request.getParameter("genre"), isFullView(request));
+			default -> {
+			}
+		}
+	}
+
+	private static boolean isFullView(HttpServletRequest request) {
+		String view = request.getParameter("view");
+		return MovieController.isFullView(view != null ? view : MovieController.SUMMARY_VIEW);
+	}
+
+	private static int intParameter(HttpServletRequest request, String name, String defaultValue) {
+		String value = request.getParameter(name);
+		return Integer.parseInt(value != null ? value : defaultValue);
+	}
+}
@@ -1,13 +1,22 @@
 package com.example.moviereviews.controller;
 
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
+import com.example.moviereviews.dto.MoviePatchRequestDto;
 import com.example.moviereviews.dto.MovieRequestDto;
 import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.service.FieldProjection;
 import com.example.moviereviews.service.MovieService;
+import com.example.moviereviews.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,7 +30,13 @@ import java.util.List;
 @Tag(name = "Управление фильмами", description = "Создание, получение, обновление и удаление фильмов")
 public class MovieController {
 
+	static final String SUMMARY_VIEW = "summary";
+	static final String DEFAULT_PAGE = "0";
+	static final String DEFAULT_SIZE = "10";
+	private static final String FULL_VIEW = "full";
+
 	private final MovieService movieService;
+	private final ReviewService reviewService;
 
 	@PostMapping
 	@Operation(summary = "Создать фильм с отзывами", description = "Создать новый фильм вместе с отзывами")
@@ -31,47 +46,184 @@ public class MovieController {
 	}
 
 	@GetMapping
-	@Operation(summary = "Получить все фильмы", description = "Получить список всех фильмов с пагинацией")
-	public Page<MovieResponseDto> getAllMovies(
-		@RequestParam(defaultValue = "0") int page,
-		@RequestParam(defaultValue = "10") int size) {
-		log.info("Getting movies: page={}, size={}", page, size);
-		return movieService.getAllMovies(PageRequest.of(page, size));
+	@Operation(summary = "Получить все фильмы", description = "Получить список фильмов с пагинацией; по умолчанию краткое представление (средний рейтинг и число отзывов), view=full - с отзывами; fields=id,title,... - только перечисленные поля (id возвращается всегда)")
+	public ResponseEntity<Page<?>> getAllMovies(
+		@RequestParam(defaultValue = DEFAULT_PAGE) int page,
+		@RequestParam(defaultValue = DEFAULT_SIZE) int size,
+		@RequestParam(defaultValue = SUMMARY_VIEW) String view,
+		@RequestParam(required = false) String fields,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting movies: page={}, size={}, view={}, fields={}", page, size, view, fields);
+		if (fields != null) {
+			return ResponseEntity.ok(movieService.getMovieFieldsPage(PageRequest.of(page, size), FieldProjection.MOVIE.parse(fields)));
+		}
+		String scope = "p" + page + "s" + size;
+		boolean full = isFullView(view);
+		Page<?> movies;
+		String etag;
+		if (full) {
+			Page<MovieResponseDto> full = movieService.getAllMovies(PageRequest.of(page, size));
+			movies = full;
+			etag = EntityTags.movies(scope, full.getContent(), full.getTotalElements());
+		} else {
+			Page<MovieSummaryDto> summaries = movieService.getMovieSummaries(PageRequest.of(page, size));
+			movies = summaries;
+			etag = EntityTags.summaries(scope, summaries.getContent(), summaries.getTotalElements());
+		}
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(movies);
+	}
+
+	@GetMapping(params = "ids")
+	@Operation(summary = "Получить фильмы по списку ID", description = "Вернуть до 100 фильмов в порядке запроса; отсутствующие помечаются found=false")
+	public ResponseEntity<List<LookupItemDto<MovieResponseDto>>> getMoviesByIds(
+		@RequestParam List<Long> ids,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting movies by ids: count={}", ids.size());
+		List<LookupItemDto<MovieResponseDto>> movies = movieService.getMoviesByIds(ids);
+		String etag = EntityTags.lookup("movies", movies, MovieResponseDto::getVersion);
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(movies);
+	}
+
+	@PostMapping("/lookup")
+	@Operation(summary = "Получить фильмы по списку ID (POST)", description = "То же, что GET /api/movies?ids=..., для длинных списков: тело - JSON-массив ID")
+	public List<LookupItemDto<MovieResponseDto>> lookupMovies(@RequestBody List<Long> ids) {
+		log.info("Looking up movies by ids: count={}", ids.size());
+		return movieService.getMoviesByIds(ids);
+	}
+
+	@GetMapping(params = "after")
+	@Operation(summary = "Получить фильмы по курсору", description = "Keyset-пагинация по ID без подсчета общего количества: передайте nextCursor из предыдущего ответа в after (пустое значение - с начала); view=full - с отзывами")
+	public CursorPageDto<?> getMoviesAfter(
+		@RequestParam String after,
+		@RequestParam(defaultValue = "10") int size,
+		@RequestParam(defaultValue = SUMMARY_VIEW) String view) {
+		log.info("Getting movies after cursor: after={}, size={}, view={}", after, size, view);
+		CursorPageSize.require(size);
+		return isFullView(view) ? movieService.getMoviesAfter(after, size) : movieService.getMovieSummariesAfter(after, size);
 	}
 
 	@GetMapping("/{id}")
-	@Operation(summary = "Получить фильм по ID", description = "Получить фильм по его идентификатору")
-	public MovieResponseDto getMovieById(@PathVariable Long id) {
-		log.info("Getting movie with id={}", id);
-		return movieService.getMovieById(id);
+	@Operation(summary = "Получить фильм по ID", description = "Получить фильм по его идентификатору; с If-None-Match отвечает 304 по версии без загрузки фильма; fields=id,title,... - только перечисленные поля без загрузки отзывов")
+	public ResponseEntity<?> getMovieById(
+		@PathVariable Long id,
+		@RequestParam(required = false) String fields,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting movie with id={}, fields={}", id, fields);
+		if (fields != null) {
+			return ResponseEntity.ok(movieService.getMovieFields(id, FieldProjection.MOVIE.parse(fields)));
+		}
+		if (ifNoneMatch != null) {
+			String etag = EntityTags.movie(id, movieService.getMovieVersion(id));
+			if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+				return EntityTags.notModified(etag);
+			}
+		}
+		MovieResponseDto movie = movieService.getMovieById(id);
+		return ResponseEntity.ok().eTag(EntityTags.movie(id, movie.getVersion())).body(movie);
 	}
 
 	@PutMapping("/{id}")
-	@Operation(summary = "Обновить фильм", description = "Обновить информацию о фильме")
-	public MovieResponseDto updateMovie(@PathVariable Long id, @RequestBody @Valid MovieRequestDto movieRequestDto) {
+	@Operation(summary = "Обновить фильм", description = "Обновить информацию о фильме; отзывы сопоставляются по ID: изменяются только измененные, без ID - создаются, отсутствующие - удаляются; с If-Match обновляет только указанную версию (иначе 412)")
+	public ResponseEntity<MovieResponseDto> updateMovie(
+		@PathVariable Long id,
+		@RequestBody @Valid MovieRequestDto movieRequestDto,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		log.info("Updating movie with id={}", id);
-		return movieService.updateMovie(id, movieRequestDto);
+		MovieResponseDto movie = movieService.updateMovie(id, movieRequestDto, EntityTags.expectedVersion(ifMatch, "movie", id));
+		return ResponseEntity.ok().eTag(EntityTags.movie(id, movie.getVersion())).body(movie);
+	}
+
+	@PatchMapping("/{id}")
+	@Operation(summary = "Изменить данные фильма", description = "Частично обновить название, год, жанр или режиссера без изменения отзывов; с If-Match обновляет только указанную версию (иначе 412)")
+	public ResponseEntity<MovieSummaryDto> patchMovie(
+		@PathVariable Long id,
+		@RequestBody @Valid MoviePatchRequestDto patchRequestDto,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		log.info("Patching movie with id={}", id);
+		MovieSummaryDto movie = movieService.patchMovie(id, patchRequestDto, EntityTags.expectedVersion(ifMatch, "movie", id));
+		return ResponseEntity.ok().eTag(EntityTags.movie(id, movie.getVersion())).body(movie);
 	}
 
 	@DeleteMapping("/{id}")
-	@Operation(summary = "Удалить фильм", description = "Удалить фильм по его идентификатору")
-	public void deleteMovie(@PathVariable Long id) {
+	@Operation(summary = "Удалить фильм", description = "Удалить фильм по его идентификатору; с If-Match удаляет только указанную версию (иначе 412)")
+	public void deleteMovie(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		log.info("Deleting movie with id={}", id);
-		movieService.deleteMovie(id);
+		movieService.deleteMovie(id, EntityTags.expectedVersion(ifMatch, "movie", id));
+	}
+
+	@GetMapping("/{id}/reviews")
+	@Operation(summary = "Получить отзывы фильма", description = "Keyset-пагинация отзывов одного фильма по ID отзыва: передайте nextCursor из предыдущего ответа в after")
+	public ResponseEntity<CursorPageDto<ReviewResponseDto>> getMovieReviews(
+		@PathVariable Long id,
+		@RequestParam(defaultValue = "") String after,
+		@RequestParam(defaultValue = "20") int size,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting reviews of movie id={}: after={}, size={}", id, after, size);
+		CursorPageSize.require(size);
+		CursorPageDto<ReviewResponseDto> reviews = reviewService.getReviewsForMovie(id, after, size);
+		String etag = EntityTags.reviews("m" + id + "s" + size, reviews.getContent(), reviews.getSize());
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(reviews);
 	}
 
 	@GetMapping("/by-genre")
-	@Operation(summary = "Найти фильмы по жанру", description = "Вернуть все фильмы указанного жанра без сортировки по рейтингу")
-	public List<MovieResponseDto> getMoviesByGenre(@RequestParam String genre) {
-		log.info("Getting movies by genre: {}", genre);
-		return movieService.findMoviesByGenre(genre);
+	@Operation(summary = "Найти фильмы по жанру", description = "Вернуть все фильмы указанного жанра без сортировки по рейтингу; по умолчанию краткое представление, view=full - с отзывами")
+	public ResponseEntity<List<?>> getMoviesByGenre(
+		@RequestParam String genre,
+		@RequestParam(defaultValue = SUMMARY_VIEW) String view,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting movies by genre: {}, view={}", genre, view);
+		boolean full = isFullView(view);
+		List<?> movies;
+		String etag;
+		if (full) {
+			List<MovieResponseDto> full = movieService.findMoviesByGenre(genre);
+			movies = full;
+			etag = EntityTags.movies("genre", full, full.size());
+		} else {
+			List<MovieSummaryDto> summaries = movieService.findMovieSummariesByGenre(genre);
+			movies = summaries;
+			etag = EntityTags.summaries("genre", summaries, summaries.size());
+		}
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(movies);
 	}
 
 	@GetMapping("/top-by-genre")
-	@Operation(summary = "Поиск фильмов с наивысшим рейтингом по жанру", description = "Вернуть фильмы в указанном жанре, отсортированные по среднему рейтингу")
-	public List<MovieResponseDto> getTopRatedMoviesByGenre(@RequestParam String genre) {
-		log.info("Getting top rated movies by genre: {}", genre);
-		return movieService.findTopRatedMoviesByGenre(genre);
+	@Operation(summary = "Поиск фильмов с наивысшим рейтингом по жанру", description = "Вернуть до limit фильмов указанного жанра с наивысшим средним рейтингом")
+	public ResponseEntity<List<MovieSummaryDto>> getTopRatedMoviesByGenre(
+		@RequestParam String genre,
+		@RequestParam(defaultValue = "10") int limit,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting top rated movies by genre: {}, limit={}", genre, limit);
+		List<MovieSummaryDto> movies = movieService.findTopRatedMoviesByGenre(genre, limit);
+		String etag = EntityTags.summaries("top-l" + limit, movies, movies.size());
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(movies);
+	}
+
+	static boolean isFullView(String view) {
+		if (FULL_VIEW.equalsIgnoreCase(view)) {
+			return true;
+		}
+		if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+			return false;
+		}
+		throw new RuntimeException("Неподдерживаемое представление: " + view);
 	}
 
 }
\ No newline at end of file
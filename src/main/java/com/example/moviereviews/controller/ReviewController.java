@@ -1,17 +1,31 @@
 package com.example.moviereviews.controller;
 
+import com.example.moviereviews.dto.BulkImportResultDto;
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
 import com.example.moviereviews.dto.ReviewRequestDto;
 import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.dto.ReviewSubmissionDto;
+import com.example.moviereviews.service.FieldProjection;
+import com.example.moviereviews.service.ReviewImportService;
 import com.example.moviereviews.service.ReviewService;
+import com.example.moviereviews.service.ReviewSubmissionQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/reviews")
 @RequiredArgsConstructor
@@ -20,41 +34,121 @@ import org.springframework.data.domain.PageRequest;
 public class ReviewController {
 
 	private final ReviewService reviewService;
+	private final ReviewImportService reviewImportService;
+	private final ReviewSubmissionQueue reviewSubmissionQueue;
 
 	@PostMapping("/{id}")
-	@Operation(summary = "Создать отзыв для фильма", description = "Создать отдельный отзыв и привязать его к фильму")
-	public ReviewResponseDto createReview(@PathVariable Long id, @RequestBody @Valid ReviewRequestDto reviewRequestDto) {
+	@Operation(summary = "Создать отзыв для фильма", description = "Создать отдельный отзыв и привязать его к фильму; в асинхронном режиме возвращает 202 и идентификатор заявки")
+	public ResponseEntity<?> createReview(@PathVariable Long id, @RequestBody @Valid ReviewRequestDto reviewRequestDto) {
+		if (reviewSubmissionQueue.isEnabled()) {
+			log.info("Queueing a new review for movie id={}", id);
+			return ResponseEntity.accepted().body(reviewSubmissionQueue.submit(id, reviewRequestDto));
+		}
 		log.info("Creating a new review for movie id={}", id);
-		return reviewService.createReview(id, reviewRequestDto);
+		return ResponseEntity.ok(reviewService.createReview(id, reviewRequestDto));
+	}
+
+	@GetMapping("/submissions/{trackingId}")
+	@Operation(summary = "Статус асинхронной заявки", description = "Получить статус отзыва, принятого в асинхронном режиме, по идентификатору заявки")
+	public ReviewSubmissionDto getSubmission(@PathVariable String trackingId) {
+		log.info("Getting review submission trackingId={}", trackingId);
+		return reviewSubmissionQueue.getSubmission(trackingId);
+	}
+
+	@PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+	@Operation(summary = "Массовый импорт отзывов", description = "Потоковый импорт отзывов из NDJSON или JSON-массива пакетами с отчетом по пакетам и ошибкам строк")
+	public BulkImportResultDto importReviews(InputStream body) throws IOException {
+		log.info("Starting bulk review import");
+		return reviewImportService.importReviews(body);
 	}
 
 	@GetMapping
-	@Operation(summary = "Получить все отзывы", description = "Получить список всех отзывов с пагинацией")
-	public Page<ReviewResponseDto> getAllReviews(
+	@Operation(summary = "Получить все отзывы", description = "Получить список всех отзывов с пагинацией; fields=id,rating,... - только перечисленные поля (id возвращается всегда)")
+	public ResponseEntity<Page<?>> getAllReviews(
 		@RequestParam(defaultValue = "0") int page,
+		@RequestParam(defaultValue = "10") int size,
+		@RequestParam(required = false) String fields,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting reviews: page={}, size={}, fields={}", page, size, fields);
+		if (fields != null) {
+			return ResponseEntity.ok(reviewService.getReviewFieldsPage(PageRequest.of(page, size), FieldProjection.REVIEW.parse(fields)));
+		}
+		Page<ReviewResponseDto> reviews = reviewService.getAllReviews(PageRequest.of(page, size));
+		String etag = EntityTags.reviews("p" + page + "s" + size, reviews.getContent(), reviews.getTotalElements());
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(reviews);
+	}
+
+	@GetMapping(params = "ids")
+	@Operation(summary = "Получить отзывы по списку ID", description = "Вернуть до 100 отзывов в порядке запроса; отсутствующие помечаются found=false")
+	public ResponseEntity<List<LookupItemDto<ReviewResponseDto>>> getReviewsByIds(
+		@RequestParam List<Long> ids,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting reviews by ids: count={}", ids.size());
+		List<LookupItemDto<ReviewResponseDto>> reviews = reviewService.getReviewsByIds(ids);
+		String etag = EntityTags.lookup("reviews", reviews, ReviewResponseDto::getVersion);
+		if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+			return EntityTags.notModified(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).body(reviews);
+	}
+
+	@PostMapping("/lookup")
+	@Operation(summary = "Получить отзывы по списку ID (POST)", description = "То же, что GET /api/reviews?ids=..., для длинных списков: тело - JSON-массив ID")
+	public List<LookupItemDto<ReviewResponseDto>> lookupReviews(@RequestBody List<Long> ids) {
+		log.info("Looking up reviews by ids: count={}", ids.size());
+		return reviewService.getReviewsByIds(ids);
+	}
+
+	@GetMapping(params = "after")
+	@Operation(summary = "Получить отзывы по курсору", description = "Keyset-пагинация по ID без подсчета общего количества: передайте nextCursor из предыдущего ответа в after (пустое значение - с начала)")
+	public CursorPageDto<ReviewResponseDto> getReviewsAfter(
+		@RequestParam String after,
 		@RequestParam(defaultValue = "10") int size) {
-		log.info("Getting reviews: page={}, size={}", page, size);
-		return reviewService.getAllReviews(PageRequest.of(page, size));
+		log.info("Getting reviews after cursor: after={}, size={}", after, size);
+		CursorPageSize.require(size);
+		return reviewService.getReviewsAfter(after, size);
 	}
 
 	@GetMapping("/{id}")
-	@Operation(summary = "Получить отзыв по ID", description = "Получить отзыв по его идентификатору")
-	public ReviewResponseDto getReviewById(@PathVariable Long id) {
-		log.info("Getting review with id={}", id);
-		return reviewService.getReviewById(id);
+	@Operation(summary = "Получить отзыв по ID", description = "Получить отзыв по его идентификатору; с If-None-Match отвечает 304 по версии без загрузки отзыва; fields=id,rating,... - только перечисленные поля")
+	public ResponseEntity<?> getReviewById(
+		@PathVariable Long id,
+		@RequestParam(required = false) String fields,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		log.info("Getting review with id={}, fields={}", id, fields);
+		if (fields != null) {
+			return ResponseEntity.ok(reviewService.getReviewFields(id, FieldProjection.REVIEW.parse(fields)));
+		}
+		if (ifNoneMatch != null) {
+			String etag = EntityTags.review(id, reviewService.getReviewVersion(id));
+			if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+				return EntityTags.notModified(etag);
+			}
+		}
+		ReviewResponseDto review = reviewService.getReviewById(id);
+		return ResponseEntity.ok().eTag(EntityTags.review(id, review.getVersion())).body(review);
 	}
 
 	@PutMapping("/{id}")
-	@Operation(summary = "Обновить отзыв", description = "Обновить отзыв по его ID")
-	public ReviewResponseDto updateReview(@PathVariable Long id, @RequestBody @Valid ReviewRequestDto reviewRequestDto) {
+	@Operation(summary = "Обновить отзыв", description = "Обновить отзыв по его ID; с If-Match обновляет только указанную версию (иначе 412)")
+	public ResponseEntity<ReviewResponseDto> updateReview(
+		@PathVariable Long id,
+		@RequestBody @Valid ReviewRequestDto reviewRequestDto,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		log.info("Updating review with id={}", id);
-		return reviewService.updateReview(id, reviewRequestDto);
+		ReviewResponseDto review = reviewService.updateReview(id, reviewRequestDto, EntityTags.expectedVersion(ifMatch, "review", id));
+		return ResponseEntity.ok().eTag(EntityTags.review(id, review.getVersion())).body(review);
 	}
 
 	@DeleteMapping("/{id}")
-	@Operation(summary = "Удалить отзыв", description = "Удалить отзыв по его ID")
-	public void deleteReview(@PathVariable Long id) {
+	@Operation(summary = "Удалить отзыв", description = "Удалить отзыв по его ID; с If-Match удаляет только указанную версию (иначе 412)")
+	public void deleteReview(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		log.info("Deleting review with id={}", id);
-		reviewService.deleteReview(id);
+		reviewService.deleteReview(id, EntityTags.expectedVersion(ifMatch, "review", id));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.SearchResultDto;
+import com.example.moviereviews.search.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Поиск", description = "Полнотекстовый поиск по названиям, режиссерам и отзывам")
+public class SearchController {
+
+	private final SearchService searchService;
+
+	@GetMapping
+	@Operation(summary = "Найти фильмы", description = "Поиск фильмов по названию, режиссеру и тексту отзывов с ранжированием BM25")
+	public Page<SearchResultDto> search(
+		@RequestParam String q,
+		@RequestParam(defaultValue = "0") int page,
+		@RequestParam(defaultValue = "10") int size) {
+		log.info("Searching movies: q={}, page={}, size={}", q, page, size);
+		return searchService.search(q, PageRequest.of(page, size));
+	}
+}
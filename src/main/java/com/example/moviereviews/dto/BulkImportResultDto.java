@@ -0,0 +1,42 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+	private long totalRows;
+	private long imported;
+	private long failed;
+	private long durationMillis;
+	private double rowsPerSecond;
+	private List<ChunkReport> chunks;
+	private List<RowError> errors;
+	private boolean errorsTruncated;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class ChunkReport {
+		private int chunk;
+		private int rows;
+		private int imported;
+		private long durationMillis;
+		private double rowsPerSecond;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class RowError {
+		private long row;
+		private String message;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+	public static final int MAX_SIZE = 100;
+
+	private List<T> content;
+	private int size;
+	private String nextCursor;
+}
\ No newline at end of file
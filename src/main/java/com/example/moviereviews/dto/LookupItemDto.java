@@ -0,0 +1,16 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupItemDto<T> {
+	private Long id;
+	private boolean found;
+	private T data;
+}
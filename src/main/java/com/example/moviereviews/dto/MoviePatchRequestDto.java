@@ -0,0 +1,27 @@
+package com.example.moviereviews.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.Builder;
+
+@Data
+@Builder
+public class MoviePatchRequestDto {
+
+	@Pattern(regexp = ".*\\S.*", message = "Название фильма не может быть пустым")
+	@Schema(example = "Inception")
+	private String title;
+
+	@Min(value = 1888, message = "Год выпуска должен быть не раньше 1888 года")
+	@Schema(example = "2010")
+	private Integer releaseYear;
+
+	@Pattern(regexp = ".*\\S.*", message = "Жанр не может быть пустым")
+	@Schema(example = "Sci-Fi")
+	private String genre;
+
+	@Pattern(regexp = ".*\\S.*", message = "Имя режиссера не может быть пустым")
+	@Schema(example = "Christopher Nolan")
+	private String director;
+}
@@ -13,6 +13,7 @@ import java.util.List;
 @AllArgsConstructor
 public class MovieResponseDto {
 	private Long id;
+	private Long version;
 	private String title;
 	private int releaseYear;
 	private String genre;
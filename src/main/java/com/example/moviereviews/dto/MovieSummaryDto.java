@@ -0,0 +1,21 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSummaryDto {
+	private Long id;
+	private Long version;
+	private String title;
+	private int releaseYear;
+	private String genre;
+	private String director;
+	private double averageRating;
+	private int reviewCount;
+}
\ No newline at end of file
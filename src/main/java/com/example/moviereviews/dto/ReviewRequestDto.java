@@ -9,6 +9,9 @@ import lombok.Builder;
 @Builder
 public class ReviewRequestDto {
 
+	@Schema(description = "ID существующего отзыва при обновлении фильма; без ID отзыв создается заново", example = "1")
+	private Long id;
+
 	@NotNull(message = "Рейтинг обязателен")
 	@Min(value = 1, message = "Рейтинг должен быть не меньше 1")
 	@Max(value = 5, message = "Рейтинг должен быть не больше 5")
@@ -15,4 +15,5 @@ public class ReviewResponseDto {
 	private String comment;
 	private String reviewerName;
 	private Long movieId;
+	private Long version;
 }
\ No newline at end of file
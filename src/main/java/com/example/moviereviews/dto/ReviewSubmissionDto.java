@@ -0,0 +1,23 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSubmissionDto {
+	private String trackingId;
+	private Status status;
+	private Long reviewId;
+	private String error;
+
+	public enum Status {
+		QUEUED,
+		COMPLETED,
+		FAILED
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.moviereviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+	private MovieSummaryDto movie;
+	private double score;
+	private Long matchedReviewId;
+}
@@ -0,0 +1,7 @@
+package com.example.moviereviews.event;
+
+public enum ChangeType {
+	CREATED,
+	UPDATED,
+	DELETED
+}
\ No newline at end of file
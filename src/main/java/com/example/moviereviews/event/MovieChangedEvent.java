@@ -0,0 +1,18 @@
+package com.example.moviereviews.event;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+
+public record MovieChangedEvent(ChangeType type, Long movieId, String previousGenre, MovieSummaryDto movie) {
+
+	public static MovieChangedEvent created(MovieSummaryDto movie) {
+		return new MovieChangedEvent(ChangeType.CREATED, movie != null ? movie.getId() : null, null, movie);
+	}
+
+	public static MovieChangedEvent updated(String previousGenre, MovieSummaryDto movie) {
+		return new MovieChangedEvent(ChangeType.UPDATED, movie != null ? movie.getId() : null, previousGenre, movie);
+	}
+
+	public static MovieChangedEvent deleted(Long movieId, String previousGenre) {
+		return new MovieChangedEvent(ChangeType.DELETED, movieId, previousGenre, null);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.moviereviews.event;
+
+import com.example.moviereviews.dto.ReviewResponseDto;
+
+public record ReviewChangedEvent(ChangeType type, ReviewResponseDto review, String genre) {
+
+	public static ReviewChangedEvent created(ReviewResponseDto review, String genre) {
+		return new ReviewChangedEvent(ChangeType.CREATED, review, genre);
+	}
+
+	public static ReviewChangedEvent updated(ReviewResponseDto review, String genre) {
+		return new ReviewChangedEvent(ChangeType.UPDATED, review, genre);
+	}
+
+	public static ReviewChangedEvent deleted(ReviewResponseDto review, String genre) {
+		return new ReviewChangedEvent(ChangeType.DELETED, review, genre);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.moviereviews.event;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record ReviewsCreatedEvent(List<ReviewResponseDto> reviews, List<MovieSummaryDto> movies) {
+
+	public Set<Long> reviewIds() {
+		return reviews.stream().map(ReviewResponseDto::getId).filter(Objects::nonNull)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	public Set<Long> movieIds() {
+		return movies.stream().map(MovieSummaryDto::getId).filter(Objects::nonNull)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	public Set<String> genres() {
+		return movies.stream().map(MovieSummaryDto::getGenre).filter(Objects::nonNull)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.moviereviews.exception;
+
+public class ReviewQueueFullException extends RuntimeException {
+
+	public ReviewQueueFullException(String message) {
+		super(message);
+	}
+}
@@ -2,6 +2,7 @@ package com.example.moviereviews.mapper;
 
 import com.example.moviereviews.dto.MovieRequestDto;
 import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
 import com.example.moviereviews.dto.ReviewResponseDto;
 import com.example.moviereviews.model.Movie;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class MovieMapper {
 	public MovieResponseDto toResponseDto(Movie movie) {
 		MovieResponseDto dto = new MovieResponseDto();
 		dto.setId(movie.getId());
+		dto.setVersion(movie.getVersion());
 		dto.setTitle(movie.getTitle());
 		dto.setReleaseYear(movie.getReleaseYear());
 		dto.setGenre(movie.getGenre());
@@ -42,4 +44,17 @@ public class MovieMapper {
 
 		return dto;
 	}
+
+	public MovieSummaryDto toSummaryDto(Movie movie) {
+		return MovieSummaryDto.builder()
+			.id(movie.getId())
+			.version(movie.getVersion())
+			.title(movie.getTitle())
+			.releaseYear(movie.getReleaseYear())
+			.genre(movie.getGenre())
+			.director(movie.getDirector())
+			.averageRating(movie.getAverageRating())
+			.reviewCount(movie.getRatingCount())
+			.build();
+	}
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ public class ReviewMapper {
 			.comment(review.getComment())
 			.reviewerName(review.getReviewerName())
 			.movieId(review.getMovie() != null ? review.getMovie().getId() : null)
+			.version(review.getVersion())
 			.build();
 	}
 }
\ No newline at end of file
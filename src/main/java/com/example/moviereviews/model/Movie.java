@@ -2,13 +2,17 @@ package com.example.moviereviews.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "movie")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie")
+@Table(name = "movie", indexes = @Index(name = "idx_movie_genre_average_rating", columnList = "genre, average_rating DESC, id"))
 @Getter
 @Setter
 @ToString
@@ -21,6 +25,9 @@ public class Movie {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Version
+	private Long version;
+
 	private String title;
 
 	@Column(name = "release_year")
@@ -30,10 +37,39 @@ public class Movie {
 
 	private String director;
 
+	@Column(name = "rating_sum", nullable = false)
+	private long ratingSum;
+
+	@Column(name = "rating_count", nullable = false)
+	private int ratingCount;
+
+	@Column(name = "average_rating", nullable = false)
+	private double averageRating;
+
 	@OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 100)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie.reviews")
 	@ToString.Exclude
 	private List<Review> reviews;
 
+	public void recalculateRatingAggregates() {
+		long sum = 0;
+		int count = 0;
+		if (reviews != null) {
+			for (Review review : reviews) {
+				sum += review.getRating();
+				count++;
+			}
+		}
+		setRatingAggregates(sum, count);
+	}
+
+	public void setRatingAggregates(long sum, int count) {
+		this.ratingSum = sum;
+		this.ratingCount = count;
+		this.averageRating = count > 0 ? (double) sum / count : 0.0;
+	}
+
 	@Override
 	public final boolean equals(Object o) {
 		if (this == o) return true;
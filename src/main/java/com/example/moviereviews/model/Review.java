@@ -2,12 +2,18 @@ package com.example.moviereviews.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.Objects;
 
 @Entity
-@Table(name = "review")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "review")
+@Table(name = "review", indexes = {
+	@Index(name = "idx_review_movie_id_id", columnList = "movie_id, id"),
+	@Index(name = "idx_review_movie_id_rating", columnList = "movie_id, rating")
+})
 @Getter
 @Setter
 @ToString
@@ -17,9 +23,13 @@ import java.util.Objects;
 public class Review {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+	@SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
 	private Long id;
 
+	@Version
+	private Long version;
+
 	private int rating;
 
 	private String comment;
@@ -27,8 +37,9 @@ public class Review {
 	@Column(name = "reviewer_name")
 	private String reviewerName;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "movie_id")
+	@ToString.Exclude
 	private Movie movie;
 
 	@Override
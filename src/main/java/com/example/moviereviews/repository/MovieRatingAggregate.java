@@ -0,0 +1,7 @@
+package com.example.moviereviews.repository;
+
+public interface MovieRatingAggregate {
+	Long getMovieId();
+	Long getRatingSum();
+	Long getRatingCount();
+}
\ No newline at end of file
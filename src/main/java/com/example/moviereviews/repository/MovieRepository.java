@@ -1,21 +1,106 @@
 package com.example.moviereviews.repository;
 
+import com.example.moviereviews.dto.MovieSummaryDto;
 import com.example.moviereviews.model.Movie;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
+	@EntityGraph(attributePaths = "reviews")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<Movie> findByGenre(String genre);
+
+	@Query("""
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
+            FROM Movie m
+            WHERE m.ratingCount > 0
+            """)
+	List<MovieSummaryDto> findRatedMovieSummaries();
+
 	@Query("""
-            SELECT m
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
+            FROM Movie m
+            WHERE m.id = :id
+            """)
+	Optional<MovieSummaryDto> findSummaryById(@Param("id") Long id);
+
+	@Query("""
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
+            FROM Movie m
+            WHERE m.id IN :ids
+            """)
+	List<MovieSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query(value = """
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
+            FROM Movie m
+            """,
+		countQuery = "SELECT COUNT(m) FROM Movie m")
+	Page<MovieSummaryDto> findAllSummaries(Pageable pageable);
+
+	@Query("""
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
             FROM Movie m
-            JOIN m.reviews r
             WHERE m.genre = :genre
-            GROUP BY m
-            ORDER BY AVG(r.rating) DESC
             """)
-	List<Movie> findTopMoviesByGenreOrderByAverageRatingDesc(@Param("genre") String genre);
-}
\ No newline at end of file
+	List<MovieSummaryDto> findSummariesByGenre(@Param("genre") String genre);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT m FROM Movie m WHERE m.id = :id")
+	Optional<Movie> findByIdForUpdate(@Param("id") Long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT m FROM Movie m WHERE m.id IN :ids ORDER BY m.id")
+	List<Movie> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT m.version FROM Movie m WHERE m.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	@Query("""
+            SELECT m.id AS movieId, m.ratingSum AS ratingSum, CAST(m.ratingCount AS Long) AS ratingCount
+            FROM Movie m
+            """)
+	List<MovieRatingAggregate> findAllRatingAggregates();
+
+	List<Movie> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("""
+            SELECT new com.example.moviereviews.dto.MovieSummaryDto(
+                m.id, m.version, m.title, m.releaseYear, m.genre, m.director, m.averageRating, m.ratingCount)
+            FROM Movie m
+            ORDER BY m.id
+            """)
+	Stream<MovieSummaryDto> streamAllSummaries();
+
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT m.id FROM Movie m")
+	Stream<Long> streamAllIds();
+}
@@ -1,9 +1,71 @@
 package com.example.moviereviews.repository;
 
+import com.example.moviereviews.dto.ReviewResponseDto;
 import com.example.moviereviews.model.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-}
\ No newline at end of file
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM Review r WHERE r.id = :id")
+	Optional<Review> findByIdForUpdate(@Param("id") Long id);
+
+	@Query("""
+            SELECT r.movie.id AS movieId, SUM(r.rating) AS ratingSum, COUNT(r) AS ratingCount
+            FROM Review r
+            GROUP BY r.movie.id
+            """)
+	List<MovieRatingAggregate> aggregateRatingsByMovie();
+
+	@Query("""
+            SELECT r.movie.id AS movieId, SUM(r.rating) AS ratingSum, COUNT(r) AS ratingCount
+            FROM Review r
+            WHERE r.movie.id = :movieId
+            GROUP BY r.movie.id
+            """)
+	Optional<MovieRatingAggregate> aggregateRatingsForMovie(@Param("movieId") Long movieId);
+
+	List<Review> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	List<Review> findByMovieIdAndIdGreaterThanOrderByIdAsc(Long movieId, Long id, Limit limit);
+
+	@Query("SELECT r.movie.id FROM Review r WHERE r.id = :id")
+	Optional<Long> findMovieIdById(@Param("id") Long id);
+
+	@Query("SELECT r.version FROM Review r WHERE r.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("""
+            SELECT new com.example.moviereviews.dto.ReviewResponseDto(
+                r.id, r.rating, r.comment, r.reviewerName, r.movie.id, r.version)
+            FROM Review r
+            ORDER BY r.id
+            """)
+	Stream<ReviewResponseDto> streamAllResponses();
+
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT r.id FROM Review r")
+	Stream<Long> streamAllIds();
+}
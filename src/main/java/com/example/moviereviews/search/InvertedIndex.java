@@ -0,0 +1,370 @@
+package com.example.moviereviews.search;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InvertedIndex {
+
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+	private static final long MOVIE_DOCUMENT = -1L;
+	private static final long UNVERSIONED = -1L;
+	private static final long DELETED = Long.MAX_VALUE;
+	private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+	private static final Postings[] NO_POSTINGS = new Postings[0];
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Postings> postings = new HashMap<>();
+	private final Map<Long, Integer> movieDocs = new HashMap<>();
+	private final Map<Long, Integer> reviewDocs = new HashMap<>();
+	private final Map<Long, Long> movieVersions = new HashMap<>();
+	private final Map<Long, Long> reviewVersions = new HashMap<>();
+	private final BitSet deleted = new BitSet();
+
+	private int[] docLengths = new int[1024];
+	private byte[][] docDigests = new byte[1024][];
+	private Postings[][] docPostings = new Postings[1024][];
+	private long[] docMovieIds = new long[1024];
+	private long[] docReviewIds = new long[1024];
+	private int maxDoc;
+	private int deletedDocs;
+	private long totalLength;
+
+	public void indexMovie(long movieId, String text) {
+		indexMovie(movieId, null, text);
+	}
+
+	public void indexMovie(long movieId, Long version, String text) {
+		byte[] digest = digest(text);
+		lock.writeLock().lock();
+		try {
+			if (!apply(movieVersions, movieId, version)) {
+				return;
+			}
+			Integer previous = movieDocs.get(movieId);
+			if (previous != null && Arrays.equals(docDigests[previous], digest)) {
+				return;
+			}
+			if (previous != null) {
+				delete(previous);
+			}
+			movieDocs.put(movieId, add(text, digest, movieId, MOVIE_DOCUMENT));
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void indexReview(long reviewId, long movieId, String text) {
+		indexReview(reviewId, movieId, null, text);
+	}
+
+	public void indexReview(long reviewId, long movieId, Long version, String text) {
+		byte[] digest = digest(text);
+		lock.writeLock().lock();
+		try {
+			if (!apply(reviewVersions, reviewId, version)) {
+				return;
+			}
+			Integer previous = reviewDocs.get(reviewId);
+			if (previous != null && docMovieIds[previous] == movieId && Arrays.equals(docDigests[previous], digest)) {
+				return;
+			}
+			if (previous != null) {
+				delete(previous);
+			}
+			reviewDocs.put(reviewId, add(text, digest, movieId, reviewId));
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void removeMovie(long movieId) {
+		lock.writeLock().lock();
+		try {
+			movieVersions.put(movieId, DELETED);
+			Integer doc = movieDocs.remove(movieId);
+			if (doc != null) {
+				delete(doc);
+				compactIfNeeded();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void removeReview(long reviewId) {
+		lock.writeLock().lock();
+		try {
+			reviewVersions.put(reviewId, DELETED);
+			Integer doc = reviewDocs.remove(reviewId);
+			if (doc != null) {
+				delete(doc);
+				compactIfNeeded();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int documentCount() {
+		lock.readLock().lock();
+		try {
+			return maxDoc - deletedDocs;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public SearchHits search(String query, int offset, int limit) {
+		List<String> terms = Tokenizer.distinctTerms(query);
+		lock.readLock().lock();
+		try {
+			int liveDocs = maxDoc - deletedDocs;
+			if (terms.isEmpty() || liveDocs == 0 || limit <= 0) {
+				return SearchHits.EMPTY;
+			}
+			float averageLength = Math.max(1f, (float) totalLength / liveDocs);
+			float[] scores = new float[maxDoc];
+			int[] matched = new int[64];
+			int matchedCount = 0;
+
+			for (String term : terms) {
+				Postings termPostings = postings.get(term);
+				if (termPostings == null) {
+					continue;
+				}
+				int documentFrequency = termPostings.live;
+				float idf = (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+				for (int i = 0; i < termPostings.size; i++) {
+					int doc = termPostings.docs[i];
+					if (deleted.get(doc)) {
+						continue;
+					}
+					int frequency = termPostings.freqs[i];
+					float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+					if (scores[doc] == 0f) {
+						if (matchedCount == matched.length) {
+							matched = Arrays.copyOf(matched, matchedCount * 2);
+						}
+						matched[matchedCount++] = doc;
+					}
+					scores[doc] += idf * frequency * (K1 + 1) / (frequency + norm);
+				}
+			}
+			return collect(scores, matched, matchedCount, offset, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private SearchHits collect(float[] scores, int[] matched, int matchedCount, int offset, int limit) {
+		Map<Long, MovieScore> movies = new HashMap<>();
+		for (int i = 0; i < matchedCount; i++) {
+			int doc = matched[i];
+			long movieId = docMovieIds[doc];
+			if (!movieDocs.containsKey(movieId)) {
+				continue;
+			}
+			MovieScore movie = movies.computeIfAbsent(movieId, MovieScore::new);
+			if (docReviewIds[doc] == MOVIE_DOCUMENT) {
+				movie.movieScore = scores[doc];
+			} else if (scores[doc] > movie.bestReviewScore) {
+				movie.bestReviewScore = scores[doc];
+				movie.bestReviewId = docReviewIds[doc];
+			}
+		}
+
+		int wanted = offset + limit;
+		Comparator<MovieScore> ranking = Comparator.comparingDouble(MovieScore::total).thenComparingLong(movie -> -movie.movieId);
+		PriorityQueue<MovieScore> top = new PriorityQueue<>(Math.min(wanted, Math.max(movies.size(), 1)), ranking);
+		for (MovieScore movie : movies.values()) {
+			if (top.size() < wanted) {
+				top.add(movie);
+			} else if (ranking.compare(movie, top.peek()) > 0) {
+				top.poll();
+				top.add(movie);
+			}
+		}
+
+		List<MovieScore> ranked = new ArrayList<>(top);
+		ranked.sort(ranking.reversed());
+		List<MovieHit> hits = new ArrayList<>(Math.max(ranked.size() - offset, 0));
+		for (int i = offset; i < ranked.size(); i++) {
+			MovieScore movie = ranked.get(i);
+			hits.add(new MovieHit(movie.movieId, movie.total(), movie.bestReviewId == MOVIE_DOCUMENT ? null : movie.bestReviewId));
+		}
+		return new SearchHits(movies.size(), hits);
+	}
+
+	// events carry snapshots that may arrive out of order; an older version must not replace a newer document, and the
+	// tombstone left by a delete keeps snapshots read before it from bringing the document back
+	private static boolean apply(Map<Long, Long> versions, long id, Long version) {
+		long current = version != null ? version : UNVERSIONED;
+		Long previous = versions.get(id);
+		if (previous != null && (previous == DELETED || current != UNVERSIONED && current <= previous)) {
+			return false;
+		}
+		versions.put(id, current);
+		return true;
+	}
+
+	private int add(String text, byte[] digest, long movieId, long reviewId) {
+		Map<String, Integer> frequencies = Tokenizer.termFrequencies(text);
+		int doc = maxDoc++;
+		ensureCapacity(maxDoc);
+		int length = 0;
+		Postings[] terms = frequencies.isEmpty() ? NO_POSTINGS : new Postings[frequencies.size()];
+		int term = 0;
+		for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+			Postings termPostings = postings.computeIfAbsent(entry.getKey(), key -> new Postings());
+			termPostings.add(doc, entry.getValue());
+			terms[term++] = termPostings;
+			length += entry.getValue();
+		}
+		docLengths[doc] = length;
+		docDigests[doc] = digest;
+		docPostings[doc] = terms;
+		docMovieIds[doc] = movieId;
+		docReviewIds[doc] = reviewId;
+		totalLength += length;
+		return doc;
+	}
+
+	private void delete(int doc) {
+		if (!deleted.get(doc)) {
+			deleted.set(doc);
+			deletedDocs++;
+			totalLength -= docLengths[doc];
+			// keeps document frequencies exact between compactions
+			for (Postings termPostings : docPostings[doc]) {
+				termPostings.live--;
+			}
+		}
+	}
+
+	private void compactIfNeeded() {
+		if (deletedDocs < MIN_DELETED_FOR_COMPACTION || deletedDocs * 4L < maxDoc) {
+			return;
+		}
+		int[] remap = new int[maxDoc];
+		int live = 0;
+		for (int doc = 0; doc < maxDoc; doc++) {
+			if (deleted.get(doc)) {
+				remap[doc] = -1;
+				continue;
+			}
+			remap[doc] = live;
+			docLengths[live] = docLengths[doc];
+			docDigests[live] = docDigests[doc];
+			docPostings[live] = docPostings[doc];
+			docMovieIds[live] = docMovieIds[doc];
+			docReviewIds[live] = docReviewIds[doc];
+			live++;
+		}
+
+		Iterator<Postings> iterator = postings.values().iterator();
+		while (iterator.hasNext()) {
+			Postings termPostings = iterator.next();
+			termPostings.remap(remap);
+			if (termPostings.size == 0) {
+				iterator.remove();
+			}
+		}
+		movieDocs.replaceAll((id, doc) -> remap[doc]);
+		reviewDocs.replaceAll((id, doc) -> remap[doc]);
+		Arrays.fill(docDigests, live, maxDoc, null);
+		Arrays.fill(docPostings, live, maxDoc, null);
+		deleted.clear();
+		deletedDocs = 0;
+		maxDoc = live;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= docLengths.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, docLengths.length * 2);
+		docLengths = Arrays.copyOf(docLengths, newCapacity);
+		docDigests = Arrays.copyOf(docDigests, newCapacity);
+		docPostings = Arrays.copyOf(docPostings, newCapacity);
+		docMovieIds = Arrays.copyOf(docMovieIds, newCapacity);
+		docReviewIds = Arrays.copyOf(docReviewIds, newCapacity);
+	}
+
+	private static byte[] digest(String text) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest((text == null ? "" : text).getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	public record MovieHit(long movieId, double score, Long matchedReviewId) {
+	}
+
+	public record SearchHits(long total, List<MovieHit> hits) {
+
+		static final SearchHits EMPTY = new SearchHits(0, List.of());
+	}
+
+	private static final class Postings {
+
+		private int[] docs = new int[4];
+		private int[] freqs = new int[4];
+		private int size;
+		private int live;
+
+		void add(int doc, int freq) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				freqs = Arrays.copyOf(freqs, size * 2);
+			}
+			docs[size] = doc;
+			freqs[size] = freq;
+			size++;
+			live++;
+		}
+
+		void remap(int[] remap) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				int doc = remap[docs[i]];
+				if (doc >= 0) {
+					docs[kept] = doc;
+					freqs[kept] = freqs[i];
+					kept++;
+				}
+			}
+			size = kept;
+		}
+	}
+
+	private static final class MovieScore {
+
+		private final long movieId;
+		private float movieScore;
+		private float bestReviewScore;
+		private long bestReviewId = MOVIE_DOCUMENT;
+
+		MovieScore(long movieId) {
+			this.movieId = movieId;
+		}
+
+		double total() {
+			return movieScore + bestReviewScore;
+		}
+	}
+}
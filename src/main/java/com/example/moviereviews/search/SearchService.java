@@ -0,0 +1,110 @@
+package com.example.moviereviews.search;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.dto.SearchResultDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+	private final MovieRepository movieRepository;
+	private final ReviewRepository reviewRepository;
+	private final PlatformTransactionManager transactionManager;
+
+	private final InvertedIndex index = new InvertedIndex();
+
+	@PostConstruct
+	public void build() {
+		long started = System.nanoTime();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		transaction.executeWithoutResult(status -> {
+			try (Stream<MovieSummaryDto> movies = movieRepository.streamAllSummaries()) {
+				movies.forEach(this::indexMovie);
+			}
+			try (Stream<ReviewResponseDto> reviews = reviewRepository.streamAllResponses()) {
+				reviews.forEach(this::indexReview);
+			}
+		});
+		log.info("Search index built with {} documents in {} ms", index.documentCount(), (System.nanoTime() - started) / 1_000_000);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<SearchResultDto> search(String query, Pageable pageable) {
+		InvertedIndex.SearchHits hits = index.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+		if (hits.hits().isEmpty()) {
+			return new PageImpl<>(List.of(), pageable, hits.total());
+		}
+
+		Map<Long, MovieSummaryDto> movies = movieRepository.findSummariesByIdIn(
+				hits.hits().stream().map(InvertedIndex.MovieHit::movieId).toList())
+			.stream()
+			.collect(Collectors.toMap(MovieSummaryDto::getId, Function.identity()));
+
+		List<SearchResultDto> content = hits.hits().stream()
+			.filter(hit -> movies.containsKey(hit.movieId()))
+			.map(hit -> SearchResultDto.builder()
+				.movie(movies.get(hit.movieId()))
+				.score(hit.score())
+				.matchedReviewId(hit.matchedReviewId())
+				.build())
+			.toList();
+		return new PageImpl<>(content, pageable, hits.total());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		switch (event.type()) {
+			case CREATED, UPDATED -> indexMovie(event.movie());
+			case DELETED -> index.removeMovie(event.movieId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewChanged(ReviewChangedEvent event) {
+		switch (event.type()) {
+			case CREATED, UPDATED -> indexReview(event.review());
+			case DELETED -> index.removeReview(event.review().getId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		event.reviews().forEach(this::indexReview);
+	}
+
+	private void indexMovie(MovieSummaryDto movie) {
+		index.indexMovie(movie.getId(), movie.getVersion(), Stream.of(movie.getTitle(), movie.getDirector())
+			.filter(Objects::nonNull)
+			.collect(Collectors.joining(" ")));
+	}
+
+	private void indexReview(ReviewResponseDto review) {
+		index.indexReview(review.getId(), review.getMovieId(), review.getVersion(), review.getComment());
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.moviereviews.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+final class Tokenizer {
+
+	private static final int MIN_TOKEN_LENGTH = 2;
+
+	private Tokenizer() {
+	}
+
+	static Map<String, Integer> termFrequencies(String text) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		forEachToken(text, token -> frequencies.merge(token, 1, Integer::sum));
+		return frequencies;
+	}
+
+	static List<String> distinctTerms(String text) {
+		Set<String> terms = new LinkedHashSet<>();
+		forEachToken(text, terms::add);
+		return List.copyOf(terms);
+	}
+
+	private static void forEachToken(String text, Consumer<String> consumer) {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i < text.length(); ) {
+			int codePoint = text.codePointAt(i);
+			i += Character.charCount(codePoint);
+			if (Character.isLetterOrDigit(codePoint)) {
+				token.appendCodePoint(Character.toLowerCase(codePoint));
+			} else {
+				emit(token, consumer);
+			}
+		}
+		emit(token, consumer);
+	}
+
+	private static void emit(StringBuilder token, Consumer<String> consumer) {
+		if (token.length() >= MIN_TOKEN_LENGTH) {
+			consumer.accept(token.toString());
+		}
+		token.setLength(0);
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.moviereviews.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+	public static final String LOGIN_PATH = "/api/auth/login";
+
+	private static final String BEARER = "Bearer ";
+
+	private final TokenService tokenService;
+
+	public TokenAuthenticationFilter(TokenService tokenService) {
+		this.tokenService = tokenService;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// a token must not be able to renew itself, the login endpoint always asks for the password
+		return LOGIN_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		Authentication authentication = tokenService.verify(header.substring(BEARER.length()).trim());
+		if (authentication == null) {
+			SecurityContextHolder.clearContext();
+			response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+			return;
+		}
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(authentication);
+		SecurityContextHolder.setContext(context);
+		filterChain.doFilter(request, response);
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.moviereviews.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class TokenService {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final Mac prototype;
+	private final Duration ttl;
+	private final Clock clock;
+
+	public TokenService(@Value("${app.auth.token.secret}") String secret,
+						@Value("${app.auth.token.ttl}") Duration ttl) {
+		this(secret, ttl, Clock.systemUTC());
+	}
+
+	TokenService(String secret, Duration ttl, Clock clock) {
+		this.ttl = ttl;
+		this.clock = clock;
+		this.prototype = createMac(key(secret));
+	}
+
+	public Duration ttl() {
+		return ttl;
+	}
+
+	public String issue(Authentication authentication) {
+		long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+		String roles = authentication.getAuthorities().stream()
+			.map(GrantedAuthority::getAuthority)
+			.collect(Collectors.joining(","));
+		String payload = encode(authentication.getName()) + "." + encode(roles) + "." + expiresAt;
+		return payload + "." + ENCODER.encodeToString(sign(payload));
+	}
+
+	public Authentication verify(String token) {
+		int signatureStart = token.lastIndexOf('.');
+		if (signatureStart < 0) {
+			return null;
+		}
+		String payload = token.substring(0, signatureStart);
+		byte[] signature;
+		try {
+			signature = DECODER.decode(token.substring(signatureStart + 1));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (!MessageDigest.isEqual(sign(payload), signature)) {
+			return null;
+		}
+
+		String[] parts = payload.split("\\.", -1);
+		if (parts.length != 3) {
+			return null;
+		}
+		long expiresAt;
+		try {
+			expiresAt = Long.parseLong(parts[2]);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (clock.instant().getEpochSecond() >= expiresAt) {
+			return null;
+		}
+		String roles = decode(parts[1]);
+		return UsernamePasswordAuthenticationToken.authenticated(decode(parts[0]), null,
+			AuthorityUtils.commaSeparatedStringToAuthorityList(roles));
+	}
+
+	private byte[] sign(String payload) {
+		Mac mac;
+		try {
+			mac = (Mac) prototype.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException("HMAC implementation cannot be cloned", e);
+		}
+		return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String encode(String value) {
+		return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decode(String value) {
+		return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] key(String secret) {
+		if (secret == null || secret.isBlank()) {
+			log.warn("app.auth.token.secret is not set, using a random key: issued tokens will not survive a restart");
+			byte[] key = new byte[32];
+			new SecureRandom().nextBytes(key);
+			return key;
+		}
+		return secret.getBytes(StandardCharsets.UTF_8);
+	}
+
+	static Mac createMac(byte[] key) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(new SecretKeySpec(key, ALGORITHM));
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC-SHA256 is not available", e);
+		}
+	}
+}
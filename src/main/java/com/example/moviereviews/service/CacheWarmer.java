@@ -0,0 +1,262 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.cache.CacheSizingProperties;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class CacheWarmer implements ApplicationRunner {
+
+	private final MovieService movieService;
+	private final CacheManager cacheManager;
+	private final CacheSizingProperties.WarmUp properties;
+	private final FrequencySketch sketch;
+	private final Set<WarmKey> candidates = ConcurrentHashMap.newKeySet();
+	private final Set<WarmKey> pending = ConcurrentHashMap.newKeySet();
+	private final ThreadPoolExecutor executor;
+	private final AtomicBoolean rewarmRequested = new AtomicBoolean();
+
+	public CacheWarmer(MovieService movieService, CacheManager cacheManager, CacheSizingProperties cacheSizingProperties) {
+		this.movieService = movieService;
+		this.cacheManager = cacheManager;
+		this.properties = cacheSizingProperties.getWarmUp();
+		this.sketch = new FrequencySketch(properties.getMaxKeys());
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-warmer-");
+		threadFactory.setDaemon(true);
+		int parallelism = Math.max(properties.getParallelism(), 1);
+		this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>(), threadFactory);
+	}
+
+	public void recordGenre(String genre, boolean full) {
+		if (genre != null) {
+			record(WarmKey.genre(genre, full));
+		}
+	}
+
+	// only the first pages at common sizes are worth warming; anything else would just churn the candidate set,
+	// which admit keeps at max-keys
+	public void recordPage(int page, int size, boolean full) {
+		if (page >= 0 && page <= properties.getMaxPage() && size > 0 && size <= properties.getMaxPageSize()) {
+			record(WarmKey.page(page, size, full));
+		}
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		List<WarmKey> keys = readKeys();
+		if (keys.isEmpty()) {
+			return;
+		}
+		long started = System.nanoTime();
+		keys.forEach(this::record);
+		CompletableFuture<?>[] loads = keys.stream()
+			.map(key -> CompletableFuture.runAsync(() -> load(key), executor))
+			.toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.allOf(loads).get(properties.getStartupTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			log.info("Warmed {} cache keys in {} ms", keys.size(), (System.nanoTime() - started) / 1_000_000);
+		} catch (TimeoutException e) {
+			log.warn("Cache warm-up did not finish within {}, continuing startup", properties.getStartupTimeout());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.warn("Cache warm-up failed", e);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		rewarmRequested.set(true);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewChanged(ReviewChangedEvent event) {
+		rewarmRequested.set(true);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		rewarmRequested.set(true);
+	}
+
+	// writes only flag a re-warm; a burst of events is coalesced into one pass on the next tick
+	@Scheduled(fixedDelayString = "${app.cache.warm-up.rewarm-delay}")
+	public void rewarmIfRequested() {
+		if (rewarmRequested.getAndSet(false)) {
+			rewarmEvicted();
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+		if (properties.isEnabled()) {
+			writeKeys();
+		}
+	}
+
+	// the sketch keeps changing under request threads, so frequencies are read once and sorted as a snapshot;
+	// comparing live counts would break the sort's contract
+	List<WarmKey> hotKeys() {
+		Map<WarmKey, Integer> frequencies = new HashMap<>();
+		for (WarmKey key : candidates) {
+			frequencies.put(key, sketch.frequency(key));
+		}
+		return frequencies.entrySet().stream()
+			.sorted(Map.Entry.<WarmKey, Integer>comparingByValue().reversed())
+			.map(Map.Entry::getKey)
+			.toList();
+	}
+
+	void rewarmEvicted() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		Cache cache = cacheManager.getCache(CacheInvalidator.MOVIES);
+		for (WarmKey key : hotKeys()) {
+			if ((cache != null && cache.get(key.cacheKey()) != null) || !pending.add(key)) {
+				continue;
+			}
+			try {
+				executor.execute(() -> {
+					try {
+						load(key);
+					} finally {
+						pending.remove(key);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				pending.remove(key);
+			}
+		}
+	}
+
+	private void record(WarmKey key) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		sketch.increment(key);
+		if (!candidates.contains(key)) {
+			admit(key);
+		}
+	}
+
+	private synchronized void admit(WarmKey key) {
+		if (candidates.size() < properties.getMaxKeys()) {
+			candidates.add(key);
+			return;
+		}
+		WarmKey coldest = null;
+		int coldestFrequency = Integer.MAX_VALUE;
+		for (WarmKey candidate : candidates) {
+			int frequency = sketch.frequency(candidate);
+			if (frequency < coldestFrequency) {
+				coldest = candidate;
+				coldestFrequency = frequency;
+			}
+		}
+		if (coldest != null && sketch.frequency(key) > coldestFrequency) {
+			candidates.remove(coldest);
+			candidates.add(key);
+		}
+	}
+
+	private void load(WarmKey key) {
+		try {
+			switch (key.type()) {
+				case GENRE -> movieService.findMoviesByGenre(key.genre());
+				case GENRE_SUMMARY -> movieService.findMovieSummariesByGenre(key.genre());
+				case PAGE -> movieService.getAllMovies(PageRequest.of(key.page(), key.size()));
+				case SUMMARY_PAGE -> movieService.getMovieSummaries(PageRequest.of(key.page(), key.size()));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Could not warm cache key {}", key, e);
+		}
+	}
+
+	private List<WarmKey> readKeys() {
+		Path file = keyFile();
+		if (file == null || !Files.isRegularFile(file)) {
+			return List.of();
+		}
+		List<WarmKey> keys = new ArrayList<>();
+		try {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				if (line.isBlank() || keys.size() >= properties.getMaxKeys()) {
+					continue;
+				}
+				try {
+					keys.add(WarmKey.parse(line));
+				} catch (IllegalArgumentException e) {
+					log.warn("Skipping warm-up key '{}': {}", line, e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Could not read warm-up keys from {}", file, e);
+		}
+		return keys;
+	}
+
+	private void writeKeys() {
+		Path file = keyFile();
+		if (file == null) {
+			return;
+		}
+		List<String> lines = hotKeys().stream()
+			.filter(WarmKey::isSerializable)
+			.map(WarmKey::serialize)
+			.toList();
+		try {
+			Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			Files.write(temporary, lines, StandardCharsets.UTF_8);
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			log.info("Saved {} hot cache keys to {}", lines.size(), file);
+		} catch (IOException e) {
+			log.warn("Could not save warm-up keys to {}", file, e);
+		}
+	}
+
+	private Path keyFile() {
+		String file = properties.getFile();
+		return file == null || file.isBlank() ? null : Path.of(file);
+	}
+}
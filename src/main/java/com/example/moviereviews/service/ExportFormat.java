@@ -0,0 +1,25 @@
+package com.example.moviereviews.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv;charset=UTF-8", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	public static ExportFormat of(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Неподдерживаемый формат экспорта: " + value);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+	private static final List<String> MOVIE_COLUMNS = List.of("id", "title", "releaseYear", "genre", "director", "averageRating", "reviewCount");
+	private static final List<String> REVIEW_COLUMNS = List.of("id", "movieId", "rating", "reviewerName", "comment");
+
+	private final MovieRepository movieRepository;
+	private final ReviewRepository reviewRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+
+	@Value("${export.flush-interval}")
+	private int flushInterval;
+
+	@Transactional(readOnly = true)
+	public long exportMovies(ExportFormat format, OutputStream out) throws IOException {
+		try (Stream<MovieSummaryDto> movies = movieRepository.streamAllSummaries()) {
+			return write(format, movies.iterator(), out, MOVIE_COLUMNS, movie -> Arrays.asList(
+				movie.getId(), movie.getTitle(), movie.getReleaseYear(), movie.getGenre(),
+				movie.getDirector(), movie.getAverageRating(), movie.getReviewCount()));
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public long exportReviews(ExportFormat format, OutputStream out) throws IOException {
+		try (Stream<ReviewResponseDto> reviews = reviewRepository.streamAllResponses()) {
+			return write(format, reviews.iterator(), out, REVIEW_COLUMNS, review -> Arrays.asList(
+				review.getId(), review.getMovieId(), review.getRating(),
+				review.getReviewerName(), review.getComment()));
+		}
+	}
+
+	private <T> long write(ExportFormat format, Iterator<T> rows, OutputStream out,
+						   List<String> columns, Function<T, List<Object>> csvValues) throws IOException {
+		long written = switch (format) {
+			case NDJSON -> writeNdjson(rows, out);
+			case CSV -> writeCsv(rows, out, columns, csvValues);
+		};
+		log.info("Exported {} rows as {}", written, format);
+		return written;
+	}
+
+	private <T> long writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+		long written = 0;
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(null);
+		try (generator) {
+			while (rows.hasNext()) {
+				generator.writeObject(rows.next());
+				generator.writeRaw('\n');
+				if (++written % flushInterval == 0) {
+					generator.flush();
+					entityManager.clear();
+				}
+			}
+		}
+		return written;
+	}
+
+	private <T> long writeCsv(Iterator<T> rows, OutputStream out, List<String> columns,
+							  Function<T, List<Object>> csvValues) throws IOException {
+		long written = 0;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeCsvLine(writer, columns);
+		while (rows.hasNext()) {
+			writeCsvLine(writer, csvValues.apply(rows.next()));
+			if (++written % flushInterval == 0) {
+				writer.flush();
+				entityManager.clear();
+			}
+		}
+		writer.flush();
+		return written;
+	}
+
+	private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(csvEscape(values.get(i)));
+		}
+		writer.write('\n');
+	}
+
+	static String csvEscape(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+}
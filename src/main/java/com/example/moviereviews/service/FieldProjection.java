@@ -0,0 +1,130 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.model.Review;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class FieldProjection<E> {
+
+	private static final String ID = "id";
+
+	public static final FieldProjection<Movie> MOVIE = new FieldProjection<>(Movie.class,
+		"id", "id",
+		"version", "version",
+		"title", "title",
+		"releaseYear", "releaseYear",
+		"genre", "genre",
+		"director", "director",
+		"averageRating", "averageRating",
+		"reviewCount", "ratingCount");
+
+	public static final FieldProjection<Review> REVIEW = new FieldProjection<>(Review.class,
+		"id", "id",
+		"version", "version",
+		"rating", "rating",
+		"comment", "comment",
+		"reviewerName", "reviewerName",
+		"movieId", "movie.id");
+
+	private final Class<E> entityType;
+	private final Map<String, String> attributes = new LinkedHashMap<>();
+
+	private FieldProjection(Class<E> entityType, String... fieldToAttribute) {
+		this.entityType = entityType;
+		for (int i = 0; i < fieldToAttribute.length; i += 2) {
+			attributes.put(fieldToAttribute[i], fieldToAttribute[i + 1]);
+		}
+	}
+
+	public List<String> parse(String fields) {
+		List<String> requested = new ArrayList<>();
+		for (String field : fields.split(",")) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (!attributes.containsKey(name)) {
+				throw new RuntimeException("Неизвестное поле: " + name + ". Доступные поля: " + String.join(",", attributes.keySet()));
+			}
+			requested.add(name);
+		}
+		// id is always returned so that cached responses can be invalidated per entity
+		return attributes.keySet().stream()
+			.filter(name -> ID.equals(name) || requested.contains(name))
+			.toList();
+	}
+
+	Optional<Map<String, Object>> findById(EntityManager entityManager, Long id, List<String> fields) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<E> root = query.from(entityType);
+		query.multiselect(selections(root, fields)).where(builder.equal(root.get(ID), id));
+		return entityManager.createQuery(query).getResultList().stream()
+			.findFirst()
+			.map(tuple -> toMap(tuple, fields));
+	}
+
+	Page<Map<String, Object>> findPage(EntityManager entityManager, Pageable pageable, List<String> fields) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<E> root = query.from(entityType);
+		query.multiselect(selections(root, fields));
+		query.orderBy(pageable.getSort().isSorted()
+			? QueryUtils.toOrders(pageable.getSort(), root, builder)
+			: List.of(builder.asc(root.get(ID))));
+
+		TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+		if (pageable.isPaged()) {
+			typedQuery.setFirstResult((int) pageable.getOffset());
+			typedQuery.setMaxResults(pageable.getPageSize());
+		}
+		List<Map<String, Object>> content = typedQuery.getResultList().stream()
+			.map(tuple -> toMap(tuple, fields))
+			.toList();
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(entityManager));
+	}
+
+	private long count(EntityManager entityManager) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		query.select(builder.count(query.from(entityType)));
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	private List<Selection<?>> selections(Root<E> root, List<String> fields) {
+		List<Selection<?>> selections = new ArrayList<>(fields.size());
+		for (String field : fields) {
+			Path<?> path = root;
+			for (String attribute : attributes.get(field).split("\\.")) {
+				path = path.get(attribute);
+			}
+			selections.add(path.alias(field));
+		}
+		return selections;
+	}
+
+	private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (String field : fields) {
+			values.put(field, tuple.get(field));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.moviereviews.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+final class FrequencySketch {
+
+	private static final int DEPTH = 4;
+	private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+	private final AtomicIntegerArray table;
+	private final int width;
+	private final int sampleSize;
+	private final AtomicInteger additions = new AtomicInteger();
+
+	FrequencySketch(int expectedKeys) {
+		int size = Integer.highestOneBit(Math.max(expectedKeys * 16 - 1, 15)) << 1;
+		this.width = size;
+		this.table = new AtomicIntegerArray(size * DEPTH);
+		this.sampleSize = 10 * size;
+	}
+
+	void increment(Object key) {
+		int hash = spread(key.hashCode());
+		for (int row = 0; row < DEPTH; row++) {
+			table.incrementAndGet(index(hash, row));
+		}
+		if (additions.incrementAndGet() >= sampleSize) {
+			age();
+		}
+	}
+
+	int frequency(Object key) {
+		int hash = spread(key.hashCode());
+		int frequency = Integer.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			frequency = Math.min(frequency, table.get(index(hash, row)));
+		}
+		return frequency;
+	}
+
+	// halves every counter once per sample so that keys which stopped being requested lose their rank
+	private synchronized void age() {
+		if (additions.get() < sampleSize) {
+			return;
+		}
+		for (int i = 0; i < table.length(); i++) {
+			table.set(i, table.get(i) >>> 1);
+		}
+		additions.set(sampleSize / 2);
+	}
+
+	private int index(int hash, int row) {
+		int h = hash * SEEDS[row];
+		h ^= h >>> 16;
+		return row * width + (h & (width - 1));
+	}
+
+	private static int spread(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x45d9f3b;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+}
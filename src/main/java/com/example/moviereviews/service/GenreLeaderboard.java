@@ -0,0 +1,154 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.example.moviereviews.repository.MovieRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenreLeaderboard {
+
+	private static final Comparator<MovieSummaryDto> RANKING = Comparator
+		.comparingDouble(MovieSummaryDto::getAverageRating).reversed()
+		.thenComparing(MovieSummaryDto::getId);
+
+	private static final long UNVERSIONED = -1;
+	private static final long DELETED = Long.MAX_VALUE;
+
+	private final MovieRepository movieRepository;
+
+	private final ConcurrentMap<String, Set<MovieSummaryDto>> boards = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void seed() {
+		reseed();
+		log.info("Genre leaderboard seeded with {} movies in {} genres",
+			boards.values().stream().mapToInt(Set::size).sum(), boards.size());
+	}
+
+	// events carry snapshots read before commit and may be applied out of order, so the board is periodically
+	// reconciled with the database; entries touched by events while the read runs are left to those events
+	@Scheduled(fixedDelayString = "${app.leaderboard.reseed-interval}", initialDelayString = "${app.leaderboard.reseed-interval}")
+	public void reseed() {
+		Map<Long, Entry> before = new HashMap<>(entries);
+		List<MovieSummaryDto> movies = movieRepository.findRatedMovieSummaries();
+		Set<Long> rated = new HashSet<>();
+		for (MovieSummaryDto movie : movies) {
+			rated.add(movie.getId());
+			upsert(movie);
+		}
+		before.forEach((movieId, seen) -> {
+			if (!rated.contains(movieId)) {
+				entries.computeIfPresent(movieId, (id, current) -> {
+					if (current != seen) {
+						return current;
+					}
+					detach(current);
+					return null;
+				});
+			}
+		});
+	}
+
+	public List<MovieSummaryDto> top(String genre, int limit) {
+		Set<MovieSummaryDto> board = boards.get(genre);
+		if (board == null || limit <= 0) {
+			return List.of();
+		}
+		List<MovieSummaryDto> result = new ArrayList<>(Math.min(limit, board.size()));
+		Iterator<MovieSummaryDto> iterator = board.iterator();
+		while (iterator.hasNext() && result.size() < limit) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+
+	// must run before ResponseBodyCache invalidates top-by-genre responses, see its listeners
+	@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMovieChanged(MovieChangedEvent event) {
+		switch (event.type()) {
+			case CREATED, UPDATED -> upsert(event.movie());
+			case DELETED -> remove(event.movieId());
+		}
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewsCreated(ReviewsCreatedEvent event) {
+		event.movies().forEach(this::upsert);
+	}
+
+	void upsert(MovieSummaryDto movie) {
+		if (movie == null || movie.getId() == null) {
+			return;
+		}
+		long version = movie.getVersion() != null ? movie.getVersion() : UNVERSIONED;
+		entries.compute(movie.getId(), (id, previous) -> {
+			if (previous != null && !isNewer(version, previous.version())) {
+				return previous;
+			}
+			if (previous != null) {
+				detach(previous);
+			}
+			boolean ranked = movie.getReviewCount() > 0 && movie.getGenre() != null;
+			if (ranked) {
+				boards.computeIfAbsent(movie.getGenre(), genre -> new ConcurrentSkipListSet<>(RANKING)).add(movie);
+			}
+			return new Entry(version, ranked ? movie : null);
+		});
+	}
+
+	void remove(Long movieId) {
+		if (movieId == null) {
+			return;
+		}
+		// the tombstone keeps snapshots that were read before the delete from bringing the movie back
+		entries.compute(movieId, (id, previous) -> {
+			if (previous != null) {
+				detach(previous);
+			}
+			return new Entry(DELETED, null);
+		});
+	}
+
+	private static boolean isNewer(long version, long previousVersion) {
+		return previousVersion != DELETED && (version == UNVERSIONED || version > previousVersion);
+	}
+
+	private void detach(Entry entry) {
+		if (entry.movie() == null) {
+			return;
+		}
+		Set<MovieSummaryDto> board = boards.get(entry.movie().getGenre());
+		if (board != null) {
+			board.remove(entry.movie());
+		}
+	}
+
+	private record Entry(long version, MovieSummaryDto movie) {
+	}
+}
\ No newline at end of file
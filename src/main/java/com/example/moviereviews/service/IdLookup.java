@@ -0,0 +1,77 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.LookupItemDto;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+final class IdLookup {
+
+	static final int MAX_IDS = 100;
+
+	private IdLookup() {
+	}
+
+	static <T> List<LookupItemDto<T>> lookup(List<Long> ids, Cache cache, LongSupplier invalidations, Class<T> type,
+											 Predicate<Long> mightExist, Function<Collection<Long>, Map<Long, T>> loader,
+											 Runnable onFalsePositive) {
+		if (ids == null || ids.isEmpty()) {
+			return List.of();
+		}
+		if (ids.size() > MAX_IDS) {
+			throw new RuntimeException("За один запрос можно получить не более " + MAX_IDS + " ID");
+		}
+
+		Map<Long, T> found = new HashMap<>();
+		List<Long> misses = new ArrayList<>();
+		for (Long id : new LinkedHashSet<>(ids)) {
+			if (id == null) {
+				continue;
+			}
+			T cached = cache != null ? cache.get(id, type) : null;
+			if (cached != null) {
+				found.put(id, cached);
+			} else if (mightExist.test(id)) {
+				misses.add(id);
+			}
+		}
+
+		if (!misses.isEmpty()) {
+			long generation = invalidations.getAsLong();
+			Map<Long, T> loaded = loader.apply(misses);
+			List<Long> stored = new ArrayList<>();
+			for (Long id : misses) {
+				T value = loaded.get(id);
+				if (value == null) {
+					onFalsePositive.run();
+					continue;
+				}
+				found.put(id, value);
+				// an entry loaded meanwhile through the single-id path is at least as fresh as this batch
+				if (cache != null && cache.putIfAbsent(id, value) == null) {
+					stored.add(id);
+				}
+			}
+			// unlike a sync load, the batch holds no key while reading, so an eviction in between would be lost
+			if (!stored.isEmpty() && invalidations.getAsLong() != generation) {
+				stored.forEach(cache::evict);
+			}
+		}
+
+		return ids.stream()
+			.map(id -> LookupItemDto.<T>builder()
+				.id(id)
+				.found(found.containsKey(id))
+				.data(found.get(id))
+				.build())
+			.toList();
+	}
+}
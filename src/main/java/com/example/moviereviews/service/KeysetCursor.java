@@ -0,0 +1,57 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.CursorPageDto;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+final class KeysetCursor {
+
+	private static final String PREFIX = "id:";
+
+	private KeysetCursor() {
+	}
+
+	// controllers reject sizes outside the range; other callers are clamped so size + 1 cannot overflow
+	static int pageSize(int size) {
+		return Math.min(Math.max(size, 1), CursorPageDto.MAX_SIZE);
+	}
+
+	static Limit limitFor(int size) {
+		return Limit.of(pageSize(size) + 1);
+	}
+
+	static <E, T> CursorPageDto<T> toPage(List<E> rows, int size, Function<E, Long> idExtractor, Function<E, T> mapper) {
+		boolean hasNext = rows.size() > size;
+		List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+		String nextCursor = hasNext ? encode(idExtractor.apply(pageRows.get(pageRows.size() - 1))) : null;
+		return CursorPageDto.<T>builder()
+			.content(pageRows.stream().map(mapper).toList())
+			.size(pageRows.size())
+			.nextCursor(nextCursor)
+			.build();
+	}
+
+	static String encode(Long lastId) {
+		String raw = PREFIX + lastId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static Long decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0L;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!raw.startsWith(PREFIX)) {
+				throw new IllegalArgumentException(raw);
+			}
+			return Long.parseLong(raw.substring(PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Некорректный курсор: " + cursor);
+		}
+	}
+}
\ No newline at end of file
@@ -1,23 +1,43 @@
 package com.example.moviereviews.service;
 
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.IdExistenceFilter;
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
+import com.example.moviereviews.dto.MoviePatchRequestDto;
 import com.example.moviereviews.dto.MovieRequestDto;
 import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
 import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import com.example.moviereviews.exception.ResourceNotFoundException;
 import com.example.moviereviews.model.Movie;
 import com.example.moviereviews.model.Review;
 import com.example.moviereviews.repository.MovieRepository;
 import com.example.moviereviews.mapper.MovieMapper;
 import com.example.moviereviews.mapper.ReviewMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,8 +46,14 @@ public class MovieService {
 	private final MovieRepository movieRepository;
 	private final MovieMapper movieMapper;
 	private final ReviewMapper reviewMapper;
+	private final GenreLeaderboard genreLeaderboard;
+	private final CachedPageIndex cachedPageIndex;
+	private final IdExistenceFilter idExistenceFilter;
+	private final CacheManager cacheManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EntityManager entityManager;
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
+	@Transactional
 	public MovieResponseDto createMovieWithReviews(MovieRequestDto requestDto) {
 		Movie movie = movieMapper.toEntity(requestDto);
 
@@ -41,66 +67,167 @@ public class MovieService {
 				reviews.add(review);
 			}
 			savedMovie.setReviews(reviews);
+			savedMovie.recalculateRatingAggregates();
 			savedMovie = movieRepository.save(savedMovie);
+			movieRepository.flush();
 		}
 
+		eventPublisher.publishEvent(MovieChangedEvent.created(movieMapper.toSummaryDto(savedMovie)));
+		publishReviewEvents(savedMovie.getReviews(), ReviewChangedEvent::created, savedMovie.getGenre());
 		return movieMapper.toResponseDto(savedMovie);
 	}
 
-	@Cacheable(value = "movies")
+	@Cacheable(value = "movies", sync = true)
+	@Transactional(readOnly = true)
 	public Page<MovieResponseDto> getAllMovies(Pageable pageable) {
-		return movieRepository.findAll(pageable)
-			.map(movieMapper::toResponseDto);
+		return cachedPageIndex.load("movies", pageable,
+			() -> movieRepository.findAll(pageable).map(movieMapper::toResponseDto),
+			page -> page.map(MovieResponseDto::getId).getContent());
+	}
+
+	@Cacheable(value = "movies", key = "T(com.example.moviereviews.cache.CacheInvalidator).summaryKey(#pageable)", sync = true)
+	@Transactional(readOnly = true)
+	public Page<MovieSummaryDto> getMovieSummaries(Pageable pageable) {
+		return cachedPageIndex.load("movies", CacheInvalidator.summaryKey(pageable),
+			() -> movieRepository.findAllSummaries(pageable),
+			page -> page.map(MovieSummaryDto::getId).getContent());
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDto<MovieSummaryDto> getMovieSummariesAfter(String cursor, int size) {
+		int pageSize = KeysetCursor.pageSize(size);
+		List<Movie> movies = movieRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), KeysetCursor.limitFor(pageSize));
+		return KeysetCursor.toPage(movies, pageSize, Movie::getId, movieMapper::toSummaryDto);
 	}
 
+	@Transactional(readOnly = true)
+	public CursorPageDto<MovieResponseDto> getMoviesAfter(String cursor, int size) {
+		int pageSize = KeysetCursor.pageSize(size);
+		List<Movie> movies = movieRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), KeysetCursor.limitFor(pageSize));
+		return KeysetCursor.toPage(movies, pageSize, Movie::getId, movieMapper::toResponseDto);
+	}
+
+	@Cacheable(value = "movies", key = "#id", sync = true)
+	@Transactional(readOnly = true)
 	public MovieResponseDto getMovieById(Long id) {
+		requirePossiblyExisting(id);
 		Movie movie = movieRepository.findById(id)
-			.orElseThrow(() -> new RuntimeException("Фильм с ID " + id + " не найден"));
+			.orElseThrow(() -> missingMovie(id));
 		return movieMapper.toResponseDto(movie);
 	}
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
+	@Cacheable(value = "movies", key = "T(com.example.moviereviews.cache.CacheInvalidator).fieldsKey(#id, #fields)", sync = true)
+	@Transactional(readOnly = true)
+	public Map<String, Object> getMovieFields(Long id, List<String> fields) {
+		requirePossiblyExisting(id);
+		return cachedPageIndex.load("movies", CacheInvalidator.fieldsKey(id, fields),
+			() -> FieldProjection.MOVIE.findById(entityManager, id, fields).orElseThrow(() -> missingMovie(id)),
+			movie -> List.of(id));
+	}
+
+	@Cacheable(value = "movies", key = "T(com.example.moviereviews.cache.CacheInvalidator).fieldsKey(#pageable, #fields)", sync = true)
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> getMovieFieldsPage(Pageable pageable, List<String> fields) {
+		return cachedPageIndex.load("movies", CacheInvalidator.fieldsKey(pageable, fields),
+			() -> FieldProjection.MOVIE.findPage(entityManager, pageable, fields),
+			page -> page.map(movie -> (Long) movie.get("id")).getContent());
+	}
+
+	@Transactional(readOnly = true)
+	public List<LookupItemDto<MovieResponseDto>> getMoviesByIds(List<Long> ids) {
+		return IdLookup.lookup(ids, cacheManager.getCache(CacheInvalidator.MOVIES),
+			() -> cachedPageIndex.generation(CacheInvalidator.MOVIES), MovieResponseDto.class,
+			id -> idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, id),
+			misses -> movieRepository.findAllById(misses).stream()
+				.collect(Collectors.toMap(Movie::getId, movieMapper::toResponseDto)),
+			() -> idExistenceFilter.recordFalsePositive(IdExistenceFilter.Kind.MOVIE));
+	}
+
+	@Transactional(readOnly = true)
+	public Long getMovieVersion(Long id) {
+		requirePossiblyExisting(id);
+		return movieRepository.findVersionById(id)
+			.orElseThrow(() -> missingMovie(id));
+	}
+
 	@Transactional
 	public MovieResponseDto updateMovie(Long id, MovieRequestDto movieRequestDto) {
-		Movie movie = movieRepository.findById(id)
-			.orElseThrow(() -> new RuntimeException("Фильм с ID " + id + " не найден"));
+		return updateMovie(id, movieRequestDto, null);
+	}
+
+	@Transactional
+	public MovieResponseDto updateMovie(Long id, MovieRequestDto movieRequestDto, Long expectedVersion) {
+		Movie movie = movieRepository.findByIdForUpdate(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Фильм с ID " + id + " не найден"));
+		checkVersion(movie.getVersion(), expectedVersion, id);
 
+		String previousGenre = movie.getGenre();
 		movie.setTitle(movieRequestDto.getTitle());
 		movie.setReleaseYear(movieRequestDto.getReleaseYear());
 		movie.setGenre(movieRequestDto.getGenre());
 		movie.setDirector(movieRequestDto.getDirector());
-		
-		if (movie.getReviews() != null) {
-			movie.getReviews().clear();
-		} else {
-			movie.setReviews(new ArrayList<>());
-		}
 
-		if (movieRequestDto.getReviews() != null) {
-			for (var reviewDto : movieRequestDto.getReviews()) {
-				Review review = Review.builder()
-					.rating(reviewDto.getRating())
-					.comment(reviewDto.getComment())
-					.reviewerName(reviewDto.getReviewerName())
-					.movie(movie)
-					.build();
-				movie.getReviews().add(review);
-			}
+		ReviewChanges changes = mergeReviews(movie, movieRequestDto.getReviews());
+		movie.recalculateRatingAggregates();
+		if (changes.onlyUpdated()) {
+			entityManager.lock(movie, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
 		}
 
 		Movie updatedMovie = movieRepository.save(movie);
+		movieRepository.flush();
+		eventPublisher.publishEvent(MovieChangedEvent.updated(previousGenre, movieMapper.toSummaryDto(updatedMovie)));
+		publishReviewEvents(changes.removed(), ReviewChangedEvent::deleted, previousGenre);
+		publishReviewEvents(changes.updated(), ReviewChangedEvent::updated, updatedMovie.getGenre());
+		publishReviewEvents(changes.created(), ReviewChangedEvent::created, updatedMovie.getGenre());
 		return movieMapper.toResponseDto(updatedMovie);
 	}
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
-	public void deleteMovie(Long id) {
-		if (!movieRepository.existsById(id)) {
-			throw new RuntimeException("Фильм с ID " + id + " не найден");
+	@Transactional
+	public MovieSummaryDto patchMovie(Long id, MoviePatchRequestDto patchRequestDto, Long expectedVersion) {
+		Movie movie = movieRepository.findByIdForUpdate(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Фильм с ID " + id + " не найден"));
+		checkVersion(movie.getVersion(), expectedVersion, id);
+
+		String previousGenre = movie.getGenre();
+		if (patchRequestDto.getTitle() != null) {
+			movie.setTitle(patchRequestDto.getTitle());
+		}
+		if (patchRequestDto.getReleaseYear() != null) {
+			movie.setReleaseYear(patchRequestDto.getReleaseYear());
+		}
+		if (patchRequestDto.getGenre() != null) {
+			movie.setGenre(patchRequestDto.getGenre());
+		}
+		if (patchRequestDto.getDirector() != null) {
+			movie.setDirector(patchRequestDto.getDirector());
 		}
-		movieRepository.deleteById(id);
+
+		Movie patchedMovie = movieRepository.save(movie);
+		movieRepository.flush();
+		MovieSummaryDto summary = movieMapper.toSummaryDto(patchedMovie);
+		eventPublisher.publishEvent(MovieChangedEvent.updated(previousGenre, summary));
+		return summary;
+	}
+
+	@Transactional
+	public void deleteMovie(Long id) {
+		deleteMovie(id, null);
+	}
+
+	@Transactional
+	public void deleteMovie(Long id, Long expectedVersion) {
+		Movie movie = movieRepository.findById(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Фильм с ID " + id + " не найден"));
+		checkVersion(movie.getVersion(), expectedVersion, id);
+
+		List<Review> removedReviews = movie.getReviews() != null ? List.copyOf(movie.getReviews()) : List.of();
+		movieRepository.delete(movie);
+		eventPublisher.publishEvent(MovieChangedEvent.deleted(id, movie.getGenre()));
+		publishReviewEvents(removedReviews, ReviewChangedEvent::deleted, movie.getGenre());
 	}
 
-	@Cacheable(value = "movies", key = "#genre")
+	@Cacheable(value = "movies", key = "#genre", sync = true)
+	@Transactional(readOnly = true)
 	public List<MovieResponseDto> findMoviesByGenre(String genre) {
 		List<Movie> movies = movieRepository.findByGenre(genre);
 		return movies.stream()
@@ -108,12 +235,104 @@ public class MovieService {
 			.toList();
 	}
 
-	@Cacheable(value = "topRatedMovies", key = "#genre")
-	public List<MovieResponseDto> findTopRatedMoviesByGenre(String genre) {
-		List<Movie> movies = movieRepository.findTopMoviesByGenreOrderByAverageRatingDesc(genre);
-		return movies.stream()
-			.map(movieMapper::toResponseDto)
-			.toList();
+	@Cacheable(value = "movies", key = "T(com.example.moviereviews.cache.CacheInvalidator).summaryKey(#genre)", sync = true)
+	@Transactional(readOnly = true)
+	public List<MovieSummaryDto> findMovieSummariesByGenre(String genre) {
+		return movieRepository.findSummariesByGenre(genre);
+	}
+
+	public List<MovieSummaryDto> findTopRatedMoviesByGenre(String genre, int limit) {
+		return genreLeaderboard.top(genre, limit);
+	}
+
+	private void requirePossiblyExisting(Long id) {
+		if (!idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, id)) {
+			throw new ResourceNotFoundException("Фильм с ID " + id + " не найден");
+		}
+	}
+
+	private ResourceNotFoundException missingMovie(Long id) {
+		idExistenceFilter.recordFalsePositive(IdExistenceFilter.Kind.MOVIE);
+		return new ResourceNotFoundException("Фильм с ID " + id + " не найден");
+	}
+
+	private static void checkVersion(Long currentVersion, Long expectedVersion, Long id) {
+		if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+			throw new PreconditionFailedException("Фильм с ID " + id + " был изменен: текущая версия " + currentVersion);
+		}
+	}
+
+	private ReviewChanges mergeReviews(Movie movie, List<ReviewRequestDto> requested) {
+		if (movie.getReviews() == null) {
+			movie.setReviews(new ArrayList<>());
+		}
+		Map<Long, Review> unmatched = new HashMap<>();
+		for (Review review : movie.getReviews()) {
+			unmatched.put(review.getId(), review);
+		}
+
+		List<Review> created = new ArrayList<>();
+		List<Review> updated = new ArrayList<>();
+		if (requested != null) {
+			for (ReviewRequestDto reviewDto : requested) {
+				if (reviewDto.getId() == null) {
+					created.add(Review.builder()
+						.rating(reviewDto.getRating())
+						.comment(reviewDto.getComment())
+						.reviewerName(reviewDto.getReviewerName())
+						.movie(movie)
+						.build());
+					continue;
+				}
+				Review review = unmatched.remove(reviewDto.getId());
+				if (review == null) {
+					throw new RuntimeException("Отзыв с ID " + reviewDto.getId() + " не найден у фильма с ID " + movie.getId());
+				}
+				if (applyReviewChanges(review, reviewDto)) {
+					updated.add(review);
+				}
+			}
+		}
+
+		List<Review> removed = List.copyOf(unmatched.values());
+		if (!removed.isEmpty()) {
+			movie.getReviews().removeIf(review -> unmatched.containsKey(review.getId()));
+		}
+		movie.getReviews().addAll(created);
+		return new ReviewChanges(created, updated, removed);
+	}
+
+	private static boolean applyReviewChanges(Review review, ReviewRequestDto reviewDto) {
+		boolean changed = false;
+		if (review.getRating() != reviewDto.getRating()) {
+			review.setRating(reviewDto.getRating());
+			changed = true;
+		}
+		if (!Objects.equals(review.getComment(), reviewDto.getComment())) {
+			review.setComment(reviewDto.getComment());
+			changed = true;
+		}
+		if (!Objects.equals(review.getReviewerName(), reviewDto.getReviewerName())) {
+			review.setReviewerName(reviewDto.getReviewerName());
+			changed = true;
+		}
+		return changed;
 	}
-	
-}
\ No newline at end of file
+
+	private void publishReviewEvents(List<Review> reviews, BiFunction<ReviewResponseDto, String, ReviewChangedEvent> factory, String genre) {
+		if (reviews == null) {
+			return;
+		}
+		for (Review review : reviews) {
+			eventPublisher.publishEvent(factory.apply(reviewMapper.toResponseDto(review), genre));
+		}
+	}
+
+	private record ReviewChanges(List<Review> created, List<Review> updated, List<Review> removed) {
+
+		boolean onlyUpdated() {
+			return !updated.isEmpty() && created.isEmpty() && removed.isEmpty();
+		}
+	}
+
+}
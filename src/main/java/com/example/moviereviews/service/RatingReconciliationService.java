@@ -0,0 +1,81 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.mapper.MovieMapper;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.repository.MovieRatingAggregate;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingReconciliationService {
+
+	private final MovieRepository movieRepository;
+	private final ReviewRepository reviewRepository;
+	private final MovieMapper movieMapper;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Scheduled(cron = "${ratings.reconciliation.cron}")
+	@Transactional
+	public int reconcile() {
+		Map<Long, MovieRatingAggregate> actual = reviewRepository.aggregateRatingsByMovie().stream()
+			.collect(Collectors.toMap(MovieRatingAggregate::getMovieId, Function.identity()));
+
+		int drifted = 0;
+		for (MovieRatingAggregate stored : movieRepository.findAllRatingAggregates()) {
+			MovieRatingAggregate expected = actual.get(stored.getMovieId());
+			if (matches(stored.getRatingSum(), stored.getRatingCount(), expected)) {
+				continue;
+			}
+			if (repair(stored.getMovieId())) {
+				drifted++;
+			}
+		}
+
+		if (drifted > 0) {
+			log.warn("Rating reconciliation fixed drift for {} movie(s)", drifted);
+		} else {
+			log.info("Rating reconciliation finished, no drift found");
+		}
+		return drifted;
+	}
+
+	private boolean repair(Long movieId) {
+		Movie movie = movieRepository.findByIdForUpdate(movieId).orElse(null);
+		if (movie == null) {
+			return false;
+		}
+		MovieRatingAggregate expected = reviewRepository.aggregateRatingsForMovie(movieId).orElse(null);
+		if (matches(movie.getRatingSum(), (long) movie.getRatingCount(), expected)) {
+			return false;
+		}
+
+		long sum = expected != null ? expected.getRatingSum() : 0L;
+		int count = expected != null ? expected.getRatingCount().intValue() : 0;
+		log.warn("Rating drift for movie id={}: stored sum={}, count={}; actual sum={}, count={}",
+			movieId, movie.getRatingSum(), movie.getRatingCount(), sum, count);
+		movie.setRatingAggregates(sum, count);
+		// flushing bumps @Version, otherwise listeners that keep the newest version (GenreLeaderboard) drop the repair
+		movieRepository.flush();
+		eventPublisher.publishEvent(MovieChangedEvent.updated(movie.getGenre(), movieMapper.toSummaryDto(movie)));
+		return true;
+	}
+
+	private static boolean matches(Long storedSum, Long storedCount, MovieRatingAggregate expected) {
+		long expectedSum = expected != null ? expected.getRatingSum() : 0L;
+		long expectedCount = expected != null ? expected.getRatingCount() : 0L;
+		return storedSum == expectedSum && storedCount == expectedCount;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.BulkImportResultDto;
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewImportService {
+
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final ReviewService reviewService;
+
+	@Value("${reviews.import.chunk-size}")
+	private int chunkSize;
+
+	@Value("${reviews.import.max-reported-errors}")
+	private int maxReportedErrors;
+
+	public BulkImportResultDto importReviews(InputStream input) throws IOException {
+		ImportProgress progress = new ImportProgress();
+		List<Long> chunkRowNumbers = new ArrayList<>(chunkSize);
+		List<BulkReviewRequestDto> chunk = new ArrayList<>(chunkSize);
+		long rowNumber = 0;
+
+		try (MappingIterator<BulkReviewRequestDto> rows = objectMapper.readerFor(BulkReviewRequestDto.class).readValues(input)) {
+			while (rows.hasNextValue()) {
+				rowNumber++;
+				BulkReviewRequestDto row;
+				try {
+					row = rows.nextValue();
+				} catch (JsonParseException e) {
+					progress.rowFailed(rowNumber, "Некорректный JSON: " + e.getOriginalMessage());
+					break;
+				} catch (JsonMappingException e) {
+					progress.rowFailed(rowNumber, "Некорректная строка: " + e.getOriginalMessage());
+					continue;
+				}
+
+				String violation = validate(row);
+				if (violation != null) {
+					progress.rowFailed(rowNumber, violation);
+					continue;
+				}
+
+				chunk.add(row);
+				chunkRowNumbers.add(rowNumber);
+				if (chunk.size() >= chunkSize) {
+					writeChunk(chunk, chunkRowNumbers, progress);
+				}
+			}
+		} catch (JsonParseException e) {
+			progress.rowFailed(rowNumber + 1, "Некорректный JSON: " + e.getOriginalMessage());
+		}
+
+		if (!chunk.isEmpty()) {
+			writeChunk(chunk, chunkRowNumbers, progress);
+		}
+		progress.totalRows = rowNumber;
+
+		BulkImportResultDto result = progress.toResult();
+		log.info("Bulk review import finished: rows={}, imported={}, failed={}, {} rows/s",
+			result.getTotalRows(), result.getImported(), result.getFailed(), String.format("%.1f", result.getRowsPerSecond()));
+		return result;
+	}
+
+	private void writeChunk(List<BulkReviewRequestDto> chunk, List<Long> rowNumbers, ImportProgress progress) {
+		long started = System.nanoTime();
+		int imported = 0;
+		try {
+			List<ReviewResponseDto> created = reviewService.createReviews(chunk);
+			for (int i = 0; i < created.size(); i++) {
+				if (created.get(i) != null) {
+					imported++;
+				} else {
+					progress.rowFailed(rowNumbers.get(i), "Фильм с ID " + chunk.get(i).getMovieId() + " не найден");
+				}
+			}
+		} catch (DataAccessException e) {
+			log.warn("Bulk review import chunk {} failed", progress.chunks.size() + 1, e);
+			for (Long rowNumber : rowNumbers) {
+				progress.rowFailed(rowNumber, "Ошибка записи пакета: " + e.getMostSpecificCause().getMessage());
+			}
+		}
+
+		long durationMillis = (System.nanoTime() - started) / 1_000_000;
+		BulkImportResultDto.ChunkReport report = new BulkImportResultDto.ChunkReport(
+			progress.chunks.size() + 1, chunk.size(), imported, durationMillis, perSecond(chunk.size(), durationMillis));
+		progress.chunks.add(report);
+		progress.imported += imported;
+		log.debug("Bulk review import chunk {}: {} rows, {} imported in {} ms",
+			report.getChunk(), report.getRows(), report.getImported(), report.getDurationMillis());
+
+		chunk.clear();
+		rowNumbers.clear();
+	}
+
+	private String validate(BulkReviewRequestDto row) {
+		if (row == null) {
+			return "Пустая строка";
+		}
+		Set<ConstraintViolation<BulkReviewRequestDto>> violations = validator.validate(row);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+			.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+			.sorted()
+			.collect(Collectors.joining("; "));
+	}
+
+	private static double perSecond(long rows, long durationMillis) {
+		return rows * 1000.0 / Math.max(durationMillis, 1);
+	}
+
+	private final class ImportProgress {
+
+		private final long started = System.nanoTime();
+		private final List<BulkImportResultDto.ChunkReport> chunks = new ArrayList<>();
+		private final List<BulkImportResultDto.RowError> errors = new ArrayList<>();
+		private long totalRows;
+		private long imported;
+		private long failed;
+
+		void rowFailed(long rowNumber, String message) {
+			failed++;
+			if (errors.size() < maxReportedErrors) {
+				errors.add(new BulkImportResultDto.RowError(rowNumber, message));
+			}
+		}
+
+		BulkImportResultDto toResult() {
+			long durationMillis = (System.nanoTime() - started) / 1_000_000;
+			return BulkImportResultDto.builder()
+				.totalRows(totalRows)
+				.imported(imported)
+				.failed(failed)
+				.durationMillis(durationMillis)
+				.rowsPerSecond(perSecond(imported, durationMillis))
+				.chunks(chunks)
+				.errors(errors)
+				.errorsTruncated(failed > errors.size())
+				.build();
+		}
+	}
+}
\ No newline at end of file
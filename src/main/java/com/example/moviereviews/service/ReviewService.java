@@ -1,18 +1,43 @@
 package com.example.moviereviews.service;
 
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.IdExistenceFilter;
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
 import com.example.moviereviews.dto.ReviewRequestDto;
 import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import com.example.moviereviews.exception.ResourceNotFoundException;
 import com.example.moviereviews.model.Movie;
 import com.example.moviereviews.model.Review;
 import com.example.moviereviews.repository.MovieRepository;
 import com.example.moviereviews.repository.ReviewRepository;
 import com.example.moviereviews.mapper.ReviewMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,11 +46,16 @@ public class ReviewService {
 	private final ReviewRepository reviewRepository;
 	private final MovieRepository movieRepository;
 	private final ReviewMapper reviewMapper;
+	private final CachedPageIndex cachedPageIndex;
+	private final IdExistenceFilter idExistenceFilter;
+	private final CacheManager cacheManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EntityManager entityManager;
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
+	@Transactional
 	public ReviewResponseDto createReview(Long id, ReviewRequestDto reviewRequestDto) {
-		Movie movie = movieRepository.findById(id)
-			.orElseThrow(() -> new RuntimeException("Фильм с ID " + id + " не найден"));
+		Movie movie = movieRepository.findByIdForUpdate(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Фильм с ID " + id + " не найден"));
 
 		Review review = Review.builder()
 			.rating(reviewRequestDto.getRating())
@@ -35,41 +65,232 @@ public class ReviewService {
 			.build();
 
 		Review savedReview = reviewRepository.save(review);
-		return reviewMapper.toResponseDto(savedReview);
+		adjustMovieRating(movie, reviewRequestDto.getRating(), 1);
+		ReviewResponseDto responseDto = reviewMapper.toResponseDto(savedReview);
+		eventPublisher.publishEvent(ReviewChangedEvent.created(responseDto, movie.getGenre()));
+		return responseDto;
+	}
+
+	@Transactional
+	public List<ReviewResponseDto> createReviews(List<BulkReviewRequestDto> rows) {
+		Map<Long, Movie> movies = movieRepository.findAllByIdForUpdate(rows.stream().map(BulkReviewRequestDto::getMovieId).distinct().toList())
+			.stream()
+			.collect(Collectors.toMap(Movie::getId, Function.identity()));
+
+		List<Review> reviews = new ArrayList<>(rows.size());
+		Map<Long, long[]> ratingDeltas = new HashMap<>();
+		for (BulkReviewRequestDto row : rows) {
+			Movie movie = movies.get(row.getMovieId());
+			if (movie == null) {
+				reviews.add(null);
+				continue;
+			}
+			reviews.add(Review.builder()
+				.rating(row.getRating())
+				.comment(row.getComment())
+				.reviewerName(row.getReviewerName())
+				.movie(movie)
+				.build());
+			long[] delta = ratingDeltas.computeIfAbsent(movie.getId(), movieId -> new long[2]);
+			delta[0] += row.getRating();
+			delta[1]++;
+		}
+
+		reviewRepository.saveAll(reviews.stream().filter(Objects::nonNull).toList());
+		ratingDeltas.forEach((movieId, delta) -> {
+			Movie movie = movies.get(movieId);
+			movie.setRatingAggregates(movie.getRatingSum() + delta[0], movie.getRatingCount() + (int) delta[1]);
+		});
+
+		List<ReviewResponseDto> result = new ArrayList<>(reviews.size());
+		List<ReviewResponseDto> created = new ArrayList<>(reviews.size());
+		for (Review review : reviews) {
+			ReviewResponseDto responseDto = review != null ? reviewMapper.toResponseDto(review) : null;
+			result.add(responseDto);
+			if (responseDto != null) {
+				created.add(responseDto);
+			}
+		}
+		// one event per chunk: listeners invalidate and re-index once instead of once per row
+		if (!created.isEmpty()) {
+			eventPublisher.publishEvent(new ReviewsCreatedEvent(created, movieRepository.findSummariesByIdIn(ratingDeltas.keySet())));
+		}
+		return result;
 	}
 
-	@Cacheable(value = "reviews")
+	@Cacheable(value = "reviews", sync = true)
+	@Transactional(readOnly = true)
 	public Page<ReviewResponseDto> getAllReviews(Pageable pageable) {
-		return reviewRepository.findAll(pageable)
-			.map(reviewMapper::toResponseDto);
+		return cachedPageIndex.load("reviews", pageable,
+			() -> reviewRepository.findAll(pageable).map(reviewMapper::toResponseDto),
+			page -> page.map(ReviewResponseDto::getId).getContent());
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDto<ReviewResponseDto> getReviewsAfter(String cursor, int size) {
+		int pageSize = KeysetCursor.pageSize(size);
+		List<Review> reviews = reviewRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), KeysetCursor.limitFor(pageSize));
+		return KeysetCursor.toPage(reviews, pageSize, Review::getId, reviewMapper::toResponseDto);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDto<ReviewResponseDto> getReviewsForMovie(Long movieId, String cursor, int size) {
+		int pageSize = KeysetCursor.pageSize(size);
+		if (!idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, movieId)) {
+			throw new ResourceNotFoundException("Фильм с ID " + movieId + " не найден");
+		}
+		List<Review> reviews = reviewRepository.findByMovieIdAndIdGreaterThanOrderByIdAsc(movieId, KeysetCursor.decode(cursor), KeysetCursor.limitFor(pageSize));
+		if (reviews.isEmpty() && !movieRepository.existsById(movieId)) {
+			idExistenceFilter.recordFalsePositive(IdExistenceFilter.Kind.MOVIE);
+			throw new ResourceNotFoundException("Фильм с ID " + movieId + " не найден");
+		}
+		return KeysetCursor.toPage(reviews, pageSize, Review::getId, reviewMapper::toResponseDto);
 	}
 
-	@Cacheable(value = "reviews", key = "#id")
+	@Cacheable(value = "reviews", key = "#id", sync = true)
+	@Transactional(readOnly = true)
 	public ReviewResponseDto getReviewById(Long id) {
+		requirePossiblyExisting(id);
 		Review review = reviewRepository.findById(id)
-			.orElseThrow(() -> new RuntimeException("Отзыв с ID " + id + " не найден"));
+			.orElseThrow(() -> missingReview(id));
 		return reviewMapper.toResponseDto(review);
 	}
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
+	@Cacheable(value = "reviews", key = "T(com.example.moviereviews.cache.CacheInvalidator).fieldsKey(#id, #fields)", sync = true)
+	@Transactional(readOnly = true)
+	public Map<String, Object> getReviewFields(Long id, List<String> fields) {
+		requirePossiblyExisting(id);
+		return cachedPageIndex.load("reviews", CacheInvalidator.fieldsKey(id, fields),
+			() -> FieldProjection.REVIEW.findById(entityManager, id, fields).orElseThrow(() -> missingReview(id)),
+			review -> List.of(id));
+	}
+
+	@Cacheable(value = "reviews", key = "T(com.example.moviereviews.cache.CacheInvalidator).fieldsKey(#pageable, #fields)", sync = true)
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> getReviewFieldsPage(Pageable pageable, List<String> fields) {
+		return cachedPageIndex.load("reviews", CacheInvalidator.fieldsKey(pageable, fields),
+			() -> FieldProjection.REVIEW.findPage(entityManager, pageable, fields),
+			page -> page.map(review -> (Long) review.get("id")).getContent());
+	}
+
+	@Transactional(readOnly = true)
+	public List<LookupItemDto<ReviewResponseDto>> getReviewsByIds(List<Long> ids) {
+		return IdLookup.lookup(ids, cacheManager.getCache(CacheInvalidator.REVIEWS),
+			() -> cachedPageIndex.generation(CacheInvalidator.REVIEWS), ReviewResponseDto.class,
+			id -> idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, id),
+			misses -> reviewRepository.findAllById(misses).stream()
+				.collect(Collectors.toMap(Review::getId, reviewMapper::toResponseDto)),
+			() -> idExistenceFilter.recordFalsePositive(IdExistenceFilter.Kind.REVIEW));
+	}
+
+	@Transactional(readOnly = true)
+	public Long getReviewVersion(Long id) {
+		requirePossiblyExisting(id);
+		return reviewRepository.findVersionById(id)
+			.orElseThrow(() -> missingReview(id));
+	}
+
+	@Transactional
 	public ReviewResponseDto updateReview(Long id, ReviewRequestDto reviewRequestDto) {
-		Review review = reviewRepository.findById(id)
-			.orElseThrow(() -> new RuntimeException("Отзыв с ID " + id + " не найден"));
+		return updateReview(id, reviewRequestDto, null);
+	}
+
+	@Transactional
+	public ReviewResponseDto updateReview(Long id, ReviewRequestDto reviewRequestDto, Long expectedVersion) {
+		Movie movie = lockMovieOfReview(id);
+		Review review = reviewRepository.findByIdForUpdate(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Отзыв с ID " + id + " не найден"));
+		checkVersion(review.getVersion(), expectedVersion, id);
 
+		int previousRating = review.getRating();
 		review.setRating(reviewRequestDto.getRating());
 		review.setComment(reviewRequestDto.getComment());
 		review.setReviewerName(reviewRequestDto.getReviewerName());
 
 		Review updatedReview = reviewRepository.save(review);
-		return reviewMapper.toResponseDto(updatedReview);
+		reviewRepository.flush();
+		if (movie != null && previousRating != review.getRating()) {
+			adjustMovieRating(movie, review.getRating() - previousRating, 0);
+		} else if (movie != null) {
+			touchMovie(movie);
+		}
+		ReviewResponseDto responseDto = reviewMapper.toResponseDto(updatedReview);
+		eventPublisher.publishEvent(ReviewChangedEvent.updated(responseDto, genreOf(review)));
+		return responseDto;
 	}
 
-	@CacheEvict(value = {"movies", "topRatedMovies", "reviews"}, allEntries = true)
+	@Transactional
 	public void deleteReview(Long id) {
-		if (!reviewRepository.existsById(id)) {
-			throw new RuntimeException("Отзыв с ID " + id + " не найден");
+		deleteReview(id, null);
+	}
+
+	@Transactional
+	public void deleteReview(Long id, Long expectedVersion) {
+		Movie movie = lockMovieOfReview(id);
+		Review review = reviewRepository.findByIdForUpdate(id)
+			.orElseThrow(() -> new ResourceNotFoundException("Отзыв с ID " + id + " не найден"));
+		checkVersion(review.getVersion(), expectedVersion, id);
+
+		reviewRepository.delete(review);
+		if (movie != null) {
+			adjustMovieRating(movie, -review.getRating(), -1);
+		}
+		eventPublisher.publishEvent(ReviewChangedEvent.deleted(reviewMapper.toResponseDto(review), genreOf(review)));
+	}
+
+	private void requirePossiblyExisting(Long id) {
+		if (!idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, id)) {
+			throw new ResourceNotFoundException("Отзыв с ID " + id + " не найден");
+		}
+	}
+
+	private ResourceNotFoundException missingReview(Long id) {
+		idExistenceFilter.recordFalsePositive(IdExistenceFilter.Kind.REVIEW);
+		return new ResourceNotFoundException("Отзыв с ID " + id + " не найден");
+	}
+
+	private static void checkVersion(Long currentVersion, Long expectedVersion, Long id) {
+		if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+			throw new PreconditionFailedException("Отзыв с ID " + id + " был изменен: текущая версия " + currentVersion);
+		}
+	}
+
+	private static String genreOf(Review review) {
+		return review.getMovie() != null ? review.getMovie().getGenre() : null;
+	}
+
+	// the movie row is locked before the review row, the same order as createReview and MovieService.updateMovie,
+	// so a review edit racing a movie update cannot deadlock; a review never moves to another movie
+	private Movie lockMovieOfReview(Long reviewId) {
+		return reviewRepository.findMovieIdById(reviewId)
+			.flatMap(movieRepository::findByIdForUpdate)
+			.orElse(null);
+	}
+
+	// aggregates change through the locked, managed movie so the READ_WRITE second-level cache updates only its entry;
+	// a bulk HQL update would evict the whole movie region
+	private void adjustMovieRating(Movie movie, long sumDelta, int countDelta) {
+		movie.setRatingAggregates(movie.getRatingSum() + sumDelta, movie.getRatingCount() + countDelta);
+		movieRepository.findSummaryById(movie.getId())
+			.ifPresent(summary -> eventPublisher.publishEvent(MovieChangedEvent.updated(summary.getGenre(), summary)));
+	}
+
+	// the movie's ETag covers its reviews, so a comment edit still bumps the version; a forced increment bypasses the
+	// second-level cache, so that one entry is evicted once the new version is committed
+	private void touchMovie(Movie movie) {
+		entityManager.lock(movie, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+		Long movieId = movie.getId();
+		Runnable evict = () -> entityManager.getEntityManagerFactory().getCache().evict(Movie.class, movieId);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict.run();
+			return;
 		}
-		reviewRepository.deleteById(id);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict.run();
+			}
+		});
 	}
 
 }
\ No newline at end of file
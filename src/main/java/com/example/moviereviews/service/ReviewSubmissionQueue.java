@@ -0,0 +1,204 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.dto.ReviewSubmissionDto;
+import com.example.moviereviews.exception.ResourceNotFoundException;
+import com.example.moviereviews.exception.ReviewQueueFullException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+@Slf4j
+public class ReviewSubmissionQueue implements SmartLifecycle {
+
+	private static final long POLL_INTERVAL_MILLIS = 100;
+
+	private final ReviewService reviewService;
+	private final boolean enabled;
+	private final int batchSize;
+	private final Duration shutdownTimeout;
+	private final BlockingQueue<PendingReview> queue;
+	private final Cache<String, ReviewSubmissionDto> submissions;
+
+	// submitters hold the read lock from the accepting check to the offer, so nothing is enqueued after stop() flips it
+	private final ReadWriteLock acceptingLock = new ReentrantReadWriteLock();
+	private volatile boolean accepting;
+	private volatile boolean running;
+	private Thread writer;
+
+	public ReviewSubmissionQueue(ReviewService reviewService,
+								 @Value("${reviews.async.enabled}") boolean enabled,
+								 @Value("${reviews.async.queue-capacity}") int queueCapacity,
+								 @Value("${reviews.async.batch-size}") int batchSize,
+								 @Value("${reviews.async.status-retention}") Duration statusRetention,
+								 @Value("${reviews.async.shutdown-timeout}") Duration shutdownTimeout) {
+		this.reviewService = reviewService;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.shutdownTimeout = shutdownTimeout;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.submissions = Caffeine.newBuilder()
+			.maximumSize(queueCapacity * 10L)
+			.expireAfterWrite(statusRetention)
+			.build();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public ReviewSubmissionDto submit(Long movieId, ReviewRequestDto request) {
+		acceptingLock.readLock().lock();
+		try {
+			return enqueue(movieId, request);
+		} finally {
+			acceptingLock.readLock().unlock();
+		}
+	}
+
+	private ReviewSubmissionDto enqueue(Long movieId, ReviewRequestDto request) {
+		if (!accepting) {
+			throw new ReviewQueueFullException("Очередь отзывов не принимает новые заявки");
+		}
+		String trackingId = UUID.randomUUID().toString();
+		ReviewSubmissionDto submission = status(trackingId, ReviewSubmissionDto.Status.QUEUED, null, null);
+		submissions.put(trackingId, submission);
+
+		BulkReviewRequestDto row = BulkReviewRequestDto.builder()
+			.movieId(movieId)
+			.rating(request.getRating())
+			.comment(request.getComment())
+			.reviewerName(request.getReviewerName())
+			.build();
+		if (!queue.offer(new PendingReview(trackingId, row))) {
+			submissions.invalidate(trackingId);
+			throw new ReviewQueueFullException("Очередь отзывов переполнена, повторите запрос позже");
+		}
+		return submission;
+	}
+
+	public ReviewSubmissionDto getSubmission(String trackingId) {
+		ReviewSubmissionDto submission = submissions.getIfPresent(trackingId);
+		if (submission == null) {
+			throw new ResourceNotFoundException("Заявка с ID " + trackingId + " не найдена");
+		}
+		return submission;
+	}
+
+	public int queuedCount() {
+		return queue.size();
+	}
+
+	@Override
+	public void start() {
+		if (!enabled || running) {
+			return;
+		}
+		running = true;
+		accepting = true;
+		writer = new Thread(this::drain, "review-write-behind");
+		writer.start();
+		log.info("Write-behind review submission started: capacity={}, batchSize={}", queue.remainingCapacity(), batchSize);
+	}
+
+	@Override
+	public void stop() {
+		acceptingLock.writeLock().lock();
+		try {
+			accepting = false;
+		} finally {
+			acceptingLock.writeLock().unlock();
+		}
+		running = false;
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.join(shutdownTimeout.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (writer.isAlive()) {
+			log.warn("Write-behind writer did not drain within {}, {} reviews left unwritten", shutdownTimeout, queue.size());
+			writer.interrupt();
+		}
+		writer = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void drain() {
+		List<PendingReview> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingReview first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+		log.info("Write-behind review queue drained");
+	}
+
+	private void write(List<PendingReview> batch) {
+		try {
+			List<ReviewResponseDto> created = reviewService.createReviews(batch.stream().map(PendingReview::row).toList());
+			for (int i = 0; i < batch.size(); i++) {
+				PendingReview pending = batch.get(i);
+				ReviewResponseDto review = created.get(i);
+				submissions.put(pending.trackingId(), review != null
+					? status(pending.trackingId(), ReviewSubmissionDto.Status.COMPLETED, review.getId(), null)
+					: status(pending.trackingId(), ReviewSubmissionDto.Status.FAILED, null, "Фильм с ID " + pending.row().getMovieId() + " не найден"));
+			}
+		} catch (RuntimeException e) {
+			log.error("Failed to write batch of {} reviews", batch.size(), e);
+			for (PendingReview pending : batch) {
+				submissions.put(pending.trackingId(), status(pending.trackingId(), ReviewSubmissionDto.Status.FAILED, null, e.getMessage()));
+			}
+		}
+	}
+
+	private static ReviewSubmissionDto status(String trackingId, ReviewSubmissionDto.Status status, Long reviewId, String error) {
+		return ReviewSubmissionDto.builder()
+			.trackingId(trackingId)
+			.status(status)
+			.reviewId(reviewId)
+			.error(error)
+			.build();
+	}
+
+	private record PendingReview(String trackingId, BulkReviewRequestDto row) {
+	}
+}
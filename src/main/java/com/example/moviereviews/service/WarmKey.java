@@ -0,0 +1,50 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.cache.CacheInvalidator;
+import org.springframework.data.domain.PageRequest;
+
+record WarmKey(Type type, String genre, int page, int size) {
+
+	private static final String SEPARATOR = "\t";
+
+	enum Type {
+		GENRE, GENRE_SUMMARY, PAGE, SUMMARY_PAGE
+	}
+
+	static WarmKey genre(String genre, boolean full) {
+		return new WarmKey(full ? Type.GENRE : Type.GENRE_SUMMARY, genre, 0, 0);
+	}
+
+	static WarmKey page(int page, int size, boolean full) {
+		return new WarmKey(full ? Type.PAGE : Type.SUMMARY_PAGE, null, page, size);
+	}
+
+	Object cacheKey() {
+		return switch (type) {
+			case GENRE -> genre;
+			case GENRE_SUMMARY -> CacheInvalidator.summaryKey(genre);
+			case PAGE -> PageRequest.of(page, size);
+			case SUMMARY_PAGE -> CacheInvalidator.summaryKey(PageRequest.of(page, size));
+		};
+	}
+
+	boolean isSerializable() {
+		return genre == null || !(genre.contains(SEPARATOR) || genre.contains("\n") || genre.contains("\r"));
+	}
+
+	String serialize() {
+		return String.join(SEPARATOR, type.name(), genre != null ? genre : "", String.valueOf(page), String.valueOf(size));
+	}
+
+	static WarmKey parse(String line) {
+		String[] parts = line.split(SEPARATOR, -1);
+		if (parts.length != 4) {
+			throw new IllegalArgumentException("Malformed warm-up key: " + line);
+		}
+		Type type = Type.valueOf(parts[0]);
+		return switch (type) {
+			case GENRE, GENRE_SUMMARY -> genre(parts[1], type == Type.GENRE);
+			case PAGE, SUMMARY_PAGE -> page(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), type == Type.PAGE);
+		};
+	}
+}
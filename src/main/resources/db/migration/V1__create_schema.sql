@@ -0,0 +1,23 @@
+CREATE TABLE movie (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version        BIGINT           NOT NULL DEFAULT 0,
+    title          VARCHAR(255),
+    release_year   INTEGER          NOT NULL,
+    genre          VARCHAR(255),
+    director       VARCHAR(255),
+    rating_sum     BIGINT           NOT NULL DEFAULT 0,
+    rating_count   INTEGER          NOT NULL DEFAULT 0,
+    average_rating DOUBLE PRECISION NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE review_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE review (
+    id            BIGINT  PRIMARY KEY,
+    version       BIGINT  NOT NULL DEFAULT 0,
+    rating        INTEGER NOT NULL,
+    comment       VARCHAR(255),
+    reviewer_name VARCHAR(255),
+    movie_id      BIGINT,
+    CONSTRAINT fk_review_movie FOREIGN KEY (movie_id) REFERENCES movie (id)
+);
@@ -0,0 +1,8 @@
+-- findByGenre / findSummariesByGenre and the per-genre top-rated ordering
+CREATE INDEX idx_movie_genre_average_rating ON movie (genre, average_rating DESC, id);
+
+-- reviews of one movie in keyset order (/api/movies/{id}/reviews, collection fetches)
+CREATE INDEX idx_review_movie_id_id ON review (movie_id, id);
+
+-- per-movie rating aggregates answered from the index alone
+CREATE INDEX idx_review_movie_id_rating ON review (movie_id, rating);
@@ -0,0 +1,142 @@
+package com.example.moviereviews;
+
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.service.MovieService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Slf4j
+@Tag("load")
+class ThreadingModeLoadTest {
+
+	private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+	private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests-per-client", 20);
+	private static final int MOVIES = 200;
+
+	@Test
+	void comparePlatformAndVirtualThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21+");
+
+		LoadResult platform = run(false);
+		LoadResult virtual = run(true);
+
+		log.info("Threading mode comparison: platform {}; virtual {}", platform, virtual);
+		assertEquals(0, platform.errors());
+		assertEquals(0, virtual.errors());
+		assertTrue(platform.requestsPerSecond() > 0 && virtual.requestsPerSecond() > 0);
+	}
+
+	private LoadResult run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieReviewServiceApplication.class)
+			.properties(
+				"server.port=0",
+				"spring.threads.virtual.enabled=" + virtualThreads,
+				"spring.datasource.url=jdbc:h2:mem:load-" + (virtualThreads ? "virtual" : "platform"),
+				// per-request logging is silenced without hiding the comparison logged by this test
+				"logging.level.com.example.moviereviews.controller=WARN",
+				"logging.level.com.example.moviereviews.service=WARN")
+			.run()) {
+			long[] movieIds = seed(context.getBean(MovieService.class));
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			return drive(port, movieIds);
+		}
+	}
+
+	private static long[] seed(MovieService movieService) {
+		long[] ids = new long[MOVIES];
+		for (int i = 0; i < MOVIES; i++) {
+			ids[i] = movieService.createMovieWithReviews(MovieRequestDto.builder()
+				.title("Load " + i)
+				.releaseYear(2000 + i % 20)
+				.genre("Genre" + i % 10)
+				.director("Director")
+				.reviews(List.of(
+					ReviewRequestDto.builder().rating(4).comment("Good").reviewerName("A").build(),
+					ReviewRequestDto.builder().rating(5).comment("Great").reviewerName("B").build()))
+				.build()).getId();
+		}
+		return ids;
+	}
+
+	private static LoadResult drive(int port, long[] movieIds) throws Exception {
+		String authorization = "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+		long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+		AtomicLong errors = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<?>> futures = new ArrayList<>(CLIENTS);
+		for (int c = 0; c < CLIENTS; c++) {
+			int clientIndex = c;
+			futures.add(clients.submit(() -> {
+				start.await();
+				for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+					int slot = clientIndex * REQUESTS_PER_CLIENT + r;
+					long movieId = movieIds[slot % movieIds.length];
+					HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/movies/" + movieId))
+						.header("Authorization", authorization)
+						.timeout(Duration.ofSeconds(60))
+						.GET()
+						.build();
+					long began = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200) {
+							errors.incrementAndGet();
+						}
+					} catch (Exception e) {
+						errors.incrementAndGet();
+					}
+					latencies[slot] = System.nanoTime() - began;
+				}
+				return null;
+			}));
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		long elapsed = System.nanoTime() - began;
+		clients.shutdown();
+
+		Arrays.sort(latencies);
+		double throughput = latencies.length * 1_000_000_000.0 / elapsed;
+		double p99Millis = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0;
+		return new LoadResult(throughput, p99Millis, errors.get());
+	}
+
+	private record LoadResult(double requestsPerSecond, double p99Millis, long errors) {
+
+		@Override
+		public String toString() {
+			return String.format("%.0f req/s, p99 %.1f ms, %d errors", requestsPerSecond, p99Millis, errors);
+		}
+	}
+}
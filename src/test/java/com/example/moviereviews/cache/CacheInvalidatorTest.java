@@ -0,0 +1,339 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidatorTest {
+
+	private static final int GENRES = 10;
+	private static final int MOVIES = 100;
+	private static final int REVIEWS = 1000;
+	private static final int PAGE_SIZE = 10;
+
+	private ConcurrentMapCacheManager cacheManager;
+	private CachedPageIndex cachedPageIndex;
+	private CacheInvalidator cacheInvalidator;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager = new ConcurrentMapCacheManager("movies", "reviews");
+		cachedPageIndex = new CachedPageIndex();
+		cacheInvalidator = new CacheInvalidator(cacheManager, cachedPageIndex);
+	}
+
+	@Test
+	void testReviewUpdateEvictsOnlyDependentEntries() {
+		Cache movies = cacheManager.getCache("movies");
+		Cache reviews = cacheManager.getCache("reviews");
+		readMoviePage(0);
+		readMoviePage(1);
+		readReviewPage(0);
+		readReviewPage(1);
+		movies.put("G3", "genre list");
+		movies.put("G4", "genre list");
+		reviews.put(3L, "review");
+		reviews.put(15L, "review");
+
+		cacheInvalidator.onReviewChanged(ReviewChangedEvent.updated(review(3L), "G3"));
+
+		assertNull(reviews.get(3L));
+		assertNull(reviews.get(PageRequest.of(0, PAGE_SIZE)));
+		assertNull(movies.get("G3"));
+		assertNull(movies.get(PageRequest.of(0, PAGE_SIZE)));
+		assertNotNull(reviews.get(15L));
+		assertNotNull(reviews.get(PageRequest.of(1, PAGE_SIZE)));
+		assertNotNull(movies.get("G4"));
+		assertNotNull(movies.get(PageRequest.of(1, PAGE_SIZE)));
+	}
+
+	@Test
+	void testMovieCreationEvictsGenreAndAllMoviePages() {
+		Cache movies = cacheManager.getCache("movies");
+		readMoviePage(0);
+		readMoviePage(1);
+		readReviewPage(0);
+		movies.put("G3", "genre list");
+		movies.put("G4", "genre list");
+
+		cacheInvalidator.onMovieChanged(MovieChangedEvent.created(movie(101L, "G3")));
+
+		assertNull(movies.get("G3"));
+		assertNull(movies.get(PageRequest.of(0, PAGE_SIZE)));
+		assertNull(movies.get(PageRequest.of(1, PAGE_SIZE)));
+		assertNotNull(movies.get("G4"));
+		assertNotNull(cacheManager.getCache("reviews").get(PageRequest.of(0, PAGE_SIZE)));
+	}
+
+	@Test
+	void testMovieGenreChangeEvictsBothGenres() {
+		Cache movies = cacheManager.getCache("movies");
+		movies.put("G3", "genre list");
+		movies.put("G4", "genre list");
+		movies.put("G5", "genre list");
+
+		cacheInvalidator.onMovieChanged(MovieChangedEvent.updated("G3", movie(3L, "G4")));
+
+		assertNull(movies.get("G3"));
+		assertNull(movies.get("G4"));
+		assertNotNull(movies.get("G5"));
+	}
+
+	@Test
+	void testReviewChangeEvictsSummaryGenreAndSummaryPages() {
+		Cache movies = cacheManager.getCache("movies");
+		Pageable first = PageRequest.of(0, PAGE_SIZE);
+		Pageable second = PageRequest.of(1, PAGE_SIZE);
+		movies.put(CacheInvalidator.summaryKey(first), "summary page");
+		movies.put(CacheInvalidator.summaryKey(second), "summary page");
+		cachedPageIndex.register("movies", CacheInvalidator.summaryKey(first), "summary page", idsOnPage(0));
+		cachedPageIndex.register("movies", CacheInvalidator.summaryKey(second), "summary page", idsOnPage(1));
+		movies.put(CacheInvalidator.summaryKey("G3"), "genre summaries");
+
+		cacheInvalidator.onReviewChanged(ReviewChangedEvent.updated(review(3L), "G3"));
+
+		assertNull(movies.get(CacheInvalidator.summaryKey("G3")));
+		assertNull(movies.get(CacheInvalidator.summaryKey(first)));
+		assertNotNull(movies.get(CacheInvalidator.summaryKey(second)));
+	}
+
+	@Test
+	void testWritesEvictFieldSelections() {
+		Cache movies = cacheManager.getCache("movies");
+		Cache reviews = cacheManager.getCache("reviews");
+		List<String> fields = List.of("id", "title");
+		Pageable first = PageRequest.of(0, PAGE_SIZE);
+		Pageable second = PageRequest.of(1, PAGE_SIZE);
+		cacheFields(movies, CacheInvalidator.fieldsKey(3L, fields), List.of(3L));
+		cacheFields(movies, CacheInvalidator.fieldsKey(first, fields), idsOnPage(0));
+		cacheFields(movies, CacheInvalidator.fieldsKey(second, fields), idsOnPage(1));
+		cacheFields(reviews, CacheInvalidator.fieldsKey(13L, fields), List.of(13L));
+		cacheFields(reviews, CacheInvalidator.fieldsKey(second, fields), idsOnPage(1));
+
+		cacheInvalidator.onMovieChanged(MovieChangedEvent.updated("G3", movie(3L, "G3")));
+
+		assertNull(movies.get(CacheInvalidator.fieldsKey(3L, fields)));
+		assertNull(movies.get(CacheInvalidator.fieldsKey(first, fields)));
+		assertNotNull(movies.get(CacheInvalidator.fieldsKey(second, fields)));
+
+		cacheInvalidator.onReviewChanged(ReviewChangedEvent.updated(review(13L), "G3"));
+
+		assertNull(reviews.get(CacheInvalidator.fieldsKey(13L, fields)));
+		assertNull(reviews.get(CacheInvalidator.fieldsKey(second, fields)));
+		assertNull(movies.get(CacheInvalidator.fieldsKey(second, fields)));
+	}
+
+	@Test
+	void testReviewChunkEvictsAffectedMoviesAndAllReviewPagesOnce() {
+		Cache movies = cacheManager.getCache("movies");
+		Cache reviews = cacheManager.getCache("reviews");
+		readMoviePage(0);
+		readMoviePage(1);
+		readMoviePage(2);
+		readReviewPage(0);
+		readReviewPage(1);
+		movies.put("G3", "genre list");
+		movies.put("G4", "genre list");
+		movies.put("G5", "genre list");
+		movies.put(3L, "movie");
+		movies.put(25L, "movie");
+
+		cacheInvalidator.onReviewsCreated(new ReviewsCreatedEvent(
+			List.of(review(1003L), review(1014L), review(1015L)),
+			List.of(movie(3L, "G3"), movie(14L, "G4"))));
+
+		assertNull(reviews.get(PageRequest.of(0, PAGE_SIZE)));
+		assertNull(reviews.get(PageRequest.of(1, PAGE_SIZE)));
+		assertNull(movies.get(3L));
+		assertNull(movies.get("G3"));
+		assertNull(movies.get("G4"));
+		assertNull(movies.get(PageRequest.of(0, PAGE_SIZE)));
+		assertNull(movies.get(PageRequest.of(1, PAGE_SIZE)));
+		assertNotNull(movies.get(25L));
+		assertNotNull(movies.get("G5"));
+		assertNotNull(movies.get(PageRequest.of(2, PAGE_SIZE)));
+	}
+
+	@Test
+	void testInvalidationDuringPageLoadDropsTheLoadedPage() throws Exception {
+		CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager("movies", "reviews");
+		CacheInvalidator invalidator = new CacheInvalidator(caffeineCacheManager, cachedPageIndex);
+		Cache movies = caffeineCacheManager.getCache("movies");
+		Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch writeCommitted = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> load = executor.submit(() -> movies.get(pageable, () -> cachedPageIndex.load("movies", pageable, () -> {
+				loadStarted.countDown();
+				await(writeCommitted);
+				return "page read before the write";
+			}, page -> idsOnPage(0))));
+			assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+
+			AtomicReference<Thread> invalidating = new AtomicReference<>();
+			Future<?> invalidation = executor.submit(() -> {
+				invalidating.set(Thread.currentThread());
+				invalidator.onMovieChanged(MovieChangedEvent.updated("G3", movie(3L, "G3")));
+			});
+			// let the load finish only once the invalidation waits on the page it is loading (or has missed it)
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!invalidation.isDone() && (invalidating.get() == null || invalidating.get().getState() != Thread.State.BLOCKED)) {
+				assertTrue(System.nanoTime() < deadline);
+				Thread.onSpinWait();
+			}
+			writeCommitted.countDown();
+
+			assertEquals("page read before the write", load.get(10, TimeUnit.SECONDS));
+			invalidation.get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertNull(movies.get(pageable));
+	}
+
+	@Test
+	void testInFlightLoadsAreReportedToInvalidation() {
+		Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+
+		cachedPageIndex.load("movies", pageable, () -> {
+			assertEquals(List.of(pageable), cachedPageIndex.keysContaining("movies", 42L));
+			assertEquals(List.of(pageable), cachedPageIndex.removeAll("movies"));
+			return "page";
+		}, page -> idsOnPage(0));
+
+		assertEquals(List.of(pageable), cachedPageIndex.keysContaining("movies", 3L));
+		assertTrue(cachedPageIndex.keysContaining("movies", 42L).isEmpty());
+	}
+
+	@Test
+	void testHitRatioHoldsUnderMixedWorkload() {
+		double targeted = runMixedWorkload(false);
+		setUp();
+		double evictAll = runMixedWorkload(true);
+
+		assertTrue(targeted > 0.6, "targeted invalidation hit ratio was " + targeted);
+		assertTrue(evictAll < 0.3, "allEntries invalidation hit ratio was " + evictAll);
+	}
+
+	private double runMixedWorkload(boolean evictAllEntries) {
+		Random random = new Random(42);
+		int hits = 0;
+		int reads = 0;
+		for (int i = 0; i < 20_000; i++) {
+			if (random.nextDouble() < 0.05) {
+				long reviewId = random.nextInt(REVIEWS);
+				if (evictAllEntries) {
+					cacheManager.getCache("movies").clear();
+					cacheManager.getCache("reviews").clear();
+				} else {
+					cacheInvalidator.onReviewChanged(ReviewChangedEvent.updated(review(reviewId), genreOf(movieOf(reviewId))));
+				}
+				continue;
+			}
+
+			reads++;
+			boolean hit = switch (random.nextInt(4)) {
+				case 0 -> readGenre("G" + random.nextInt(GENRES));
+				case 1 -> readMoviePage(random.nextInt(MOVIES / PAGE_SIZE));
+				case 2 -> readReviewPage(random.nextInt(REVIEWS / PAGE_SIZE));
+				default -> readReview(random.nextInt(REVIEWS));
+			};
+			if (hit) {
+				hits++;
+			}
+		}
+		return (double) hits / reads;
+	}
+
+	private boolean readGenre(String genre) {
+		return readThrough(cacheManager.getCache("movies"), genre);
+	}
+
+	private boolean readReview(long id) {
+		return readThrough(cacheManager.getCache("reviews"), id);
+	}
+
+	private boolean readMoviePage(int page) {
+		Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+		boolean hit = readThrough(cacheManager.getCache("movies"), pageable);
+		if (!hit) {
+			cachedPageIndex.register("movies", pageable, "value", idsOnPage(page));
+		}
+		return hit;
+	}
+
+	private boolean readReviewPage(int page) {
+		Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+		boolean hit = readThrough(cacheManager.getCache("reviews"), pageable);
+		if (!hit) {
+			cachedPageIndex.register("reviews", pageable, "value", idsOnPage(page));
+		}
+		return hit;
+	}
+
+	private void cacheFields(Cache cache, Object key, List<Long> ids) {
+		cache.put(key, "fields");
+		cachedPageIndex.register(cache.getName(), key, "fields", ids);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static boolean readThrough(Cache cache, Object key) {
+		if (cache.get(key) != null) {
+			return true;
+		}
+		cache.put(key, "value");
+		return false;
+	}
+
+	private static List<Long> idsOnPage(int page) {
+		return LongStream.range((long) page * PAGE_SIZE, (long) (page + 1) * PAGE_SIZE).boxed().toList();
+	}
+
+	private static long movieOf(long reviewId) {
+		return reviewId % MOVIES;
+	}
+
+	private static String genreOf(long movieId) {
+		return "G" + (movieId % GENRES);
+	}
+
+	private static ReviewResponseDto review(long id) {
+		return ReviewResponseDto.builder().id(id).movieId(movieOf(id)).build();
+	}
+
+	private static MovieSummaryDto movie(long id, String genre) {
+		return MovieSummaryDto.builder().id(id).genre(genre).build();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdExistenceFilterTest {
+
+	private static final int MOVIES = 10_000;
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private ReviewRepository reviewRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+	private IdExistenceFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new IdExistenceFilter(movieRepository, reviewRepository, transactionManager, meterRegistry, true, 0.01);
+		when(movieRepository.count()).thenReturn((long) MOVIES);
+		when(movieRepository.streamAllIds()).thenAnswer(invocation -> ids(1, MOVIES));
+		when(reviewRepository.count()).thenReturn(0L);
+		when(reviewRepository.streamAllIds()).thenReturn(Stream.empty());
+		filter.build();
+	}
+
+	@Test
+	void testBloomFilterStaysNearTargetFalsePositiveRate() {
+		BloomFilter bloomFilter = new BloomFilter(100_000, 0.01);
+		for (long id = 0; id < 100_000; id++) {
+			bloomFilter.put(id);
+		}
+
+		int falsePositives = 0;
+		for (long id = 0; id < 100_000; id++) {
+			assertTrue(bloomFilter.mightContain(id));
+			if (bloomFilter.mightContain(1_000_000 + id)) {
+				falsePositives++;
+			}
+		}
+
+		assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+		assertEquals(0.01, bloomFilter.expectedFalsePositiveProbability(), 0.005);
+	}
+
+	@Test
+	void testUnknownIdsAreRejectedAndCounted() {
+		int passed = 0;
+		for (long id = 1; id <= MOVIES; id++) {
+			assertTrue(filter.mightContain(IdExistenceFilter.Kind.MOVIE, id));
+		}
+		for (long id = 1; id <= 1_000; id++) {
+			if (filter.mightContain(IdExistenceFilter.Kind.MOVIE, 1_000_000 + id)) {
+				passed++;
+				filter.recordFalsePositive(IdExistenceFilter.Kind.MOVIE);
+			}
+		}
+
+		assertTrue(passed < 50, "unknown ids let through: " + passed);
+		assertEquals(1_000 - passed, meterRegistry.get("id.filter.checks").tags("entity", "movie", "result", "absent").counter().count());
+		assertEquals(passed / 1_000.0, meterRegistry.get("id.filter.observed.false.positive.rate").tag("entity", "movie").gauge().value(), 1e-9);
+		assertFalse(filter.mightContain(IdExistenceFilter.Kind.REVIEW, 1L));
+	}
+
+	@Test
+	void testCreatedIdsAreAddedAndDeletionsTriggerRebuild() {
+		long created = MOVIES + 1;
+		filter.onMovieChanged(MovieChangedEvent.created(MovieSummaryDto.builder().id(created).genre("Drama").build()));
+		assertTrue(filter.mightContain(IdExistenceFilter.Kind.MOVIE, created));
+
+		filter.onMovieChanged(MovieChangedEvent.deleted(created, "Drama"));
+		assertEquals(1.0, meterRegistry.get("id.filter.stale.deletions").tag("entity", "movie").gauge().value());
+
+		filter.rebuildStale();
+
+		assertEquals(0.0, meterRegistry.get("id.filter.stale.deletions").tag("entity", "movie").gauge().value());
+		verify(movieRepository, times(2)).streamAllIds();
+		verify(reviewRepository, times(1)).streamAllIds();
+	}
+
+	@Test
+	void testIdCreatedDuringRebuildSurvivesTheSwap() {
+		long created = MOVIES + 1;
+		when(movieRepository.streamAllIds()).thenAnswer(invocation -> {
+			filter.onMovieChanged(MovieChangedEvent.created(MovieSummaryDto.builder().id(created).genre("Drama").build()));
+			return ids(1, MOVIES);
+		});
+
+		filter.rebuildAll();
+
+		assertTrue(filter.mightContain(IdExistenceFilter.Kind.MOVIE, created));
+	}
+
+	@Test
+	void testFullRebuildRunsWithoutDeletions() {
+		filter.rebuildStale();
+		verify(movieRepository, times(1)).streamAllIds();
+
+		filter.rebuildAll();
+
+		verify(movieRepository, times(2)).streamAllIds();
+		verify(reviewRepository, times(2)).streamAllIds();
+	}
+
+	private static Stream<Long> ids(long from, long to) {
+		return LongStream.rangeClosed(from, to).boxed();
+	}
+}
@@ -0,0 +1,165 @@
+package com.example.moviereviews.cache;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+	private final AtomicInteger handled = new AtomicInteger();
+	private CacheSizingProperties properties;
+	private ResponseBodyCache responseBodyCache;
+	private ResponseCacheFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new CacheSizingProperties();
+		responseBodyCache = new ResponseBodyCache(properties);
+		filter = new ResponseCacheFilter(responseBodyCache, new ObjectMapper());
+	}
+
+	@Test
+	void testSecondReadIsServedFromCachedBytes() throws Exception {
+		MockHttpServletResponse first = get("/api/movies/1");
+		MockHttpServletResponse second = get("/api/movies/1");
+
+		assertEquals(1, handled.get());
+		assertEquals("MISS", first.getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", second.getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals(first.getContentAsString(), second.getContentAsString());
+		assertTrue(second.getContentType().startsWith("application/json"));
+	}
+
+	@Test
+	void testOffHeapEntriesAreWrittenBack() throws Exception {
+		properties.getResponse().setOffHeap(true);
+		responseBodyCache = new ResponseBodyCache(properties);
+		filter = new ResponseCacheFilter(responseBodyCache, new ObjectMapper());
+
+		MockHttpServletResponse first = get("/api/reviews/7");
+		MockHttpServletResponse second = get("/api/reviews/7");
+
+		assertEquals(1, handled.get());
+		assertEquals(first.getContentAsString(), second.getContentAsString());
+	}
+
+	@Test
+	void testQueryParametersArePartOfTheKey() throws Exception {
+		get("/api/movies", "page", "0");
+		get("/api/movies", "page", "1");
+		get("/api/movies", "page", "0");
+
+		assertEquals(2, handled.get());
+	}
+
+	@Test
+	void testMovieUpdateEvictsItsOwnEntryAndListPagesContainingIt() throws Exception {
+		get("/api/movies/1");
+		get("/api/movies/2");
+		get("/api/movies", "page", "0");
+
+		responseBodyCache.onMovieChanged(MovieChangedEvent.updated("Drama", MovieSummaryDto.builder().id(1L).genre("Drama").build()));
+
+		assertEquals("MISS", get("/api/movies/1").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", get("/api/movies/2").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("MISS", get("/api/movies", "page", "0").getHeader(ResponseCacheFilter.CACHE_HEADER));
+	}
+
+	@Test
+	void testReviewCreationEvictsMovieGenreAndReviewLists() throws Exception {
+		get("/api/movies/1");
+		get("/api/movies/by-genre", "genre", "Drama");
+		get("/api/movies/by-genre", "genre", "Comedy");
+		get("/api/reviews", "page", "0");
+
+		responseBodyCache.onReviewChanged(ReviewChangedEvent.created(ReviewResponseDto.builder().id(99L).movieId(1L).build(), "Drama"));
+
+		assertEquals("MISS", get("/api/movies/1").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("MISS", get("/api/movies/by-genre", "genre", "Drama").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", get("/api/movies/by-genre", "genre", "Comedy").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("MISS", get("/api/reviews", "page", "0").getHeader(ResponseCacheFilter.CACHE_HEADER));
+	}
+
+	@Test
+	void testMultiGetIsTaggedWithRequestedIds() throws Exception {
+		get("/api/movies", "ids", "5,404");
+		get("/api/movies", "ids", "6");
+
+		responseBodyCache.onMovieChanged(MovieChangedEvent.created(MovieSummaryDto.builder().id(404L).genre("Drama").build()));
+
+		assertEquals("MISS", get("/api/movies", "ids", "5,404").getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", get("/api/movies", "ids", "6").getHeader(ResponseCacheFilter.CACHE_HEADER));
+	}
+
+	@Test
+	void testResponseComputedAcrossAnInvalidationIsNotStored() {
+		long generation = responseBodyCache.generation();
+		responseBodyCache.invalidateTags(List.of(ResponseBodyCache.movieTag(1L)));
+
+		assertFalse(responseBodyCache.put("/api/movies/1", generation, "application/json", null, new byte[]{'{', '}'}, Set.of(ResponseBodyCache.movieTag(1L))));
+		assertNull(responseBodyCache.get("/api/movies/1"));
+	}
+
+	@Test
+	void testInvalidationOfOtherTagsDoesNotBlockStoring() {
+		long generation = responseBodyCache.generation();
+		responseBodyCache.invalidateTags(List.of(ResponseBodyCache.movieTag(2L), ResponseBodyCache.genreTag("Comedy")));
+
+		assertTrue(responseBodyCache.put("/api/movies/1", generation, "application/json", null, new byte[]{'{', '}'}, Set.of(ResponseBodyCache.movieTag(1L))));
+		assertNotNull(responseBodyCache.get("/api/movies/1"));
+	}
+
+	@Test
+	void testWritesAndUnknownRoutesBypassTheCache() throws Exception {
+		MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/reviews/1");
+		filter.doFilter(post, new MockHttpServletResponse(), chain());
+		filter.doFilter(post, new MockHttpServletResponse(), chain());
+		get("/api/reviews/submissions/abc");
+		get("/api/reviews/submissions/abc");
+
+		assertEquals(4, handled.get());
+		assertEquals(0, responseBodyCache.size());
+	}
+
+	private MockHttpServletResponse get(String uri, String... parameters) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		for (int i = 0; i < parameters.length; i += 2) {
+			request.addParameter(parameters[i], parameters[i + 1]);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain());
+		return response;
+	}
+
+	private MockFilterChain chain() {
+		return new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				int call = handled.incrementAndGet();
+				response.setContentType("application/json");
+				if (request.getRequestURI().equals("/api/movies") || request.getRequestURI().equals("/api/reviews")) {
+					response.getWriter().write("{\"content\":[{\"id\":1},{\"id\":3}],\"call\":" + call + "}");
+				} else {
+					response.getWriter().write("{\"id\":1,\"call\":" + call + "}");
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.moviereviews.configuration;
+
+import com.example.moviereviews.cache.CacheSizingProperties;
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.DtoSizeEstimator;
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+	@Test
+	void testCacheManagerCreatesOnlyConfiguredCaches() {
+		CacheSizingProperties properties = new CacheSizingProperties();
+		properties.getSpecs().put("movies", new CacheSizingProperties.Spec());
+		properties.getSpecs().put("reviews", new CacheSizingProperties.Spec());
+
+		CacheManager cacheManager = new CacheConfig().cacheManager(properties, new CachedPageIndex());
+
+		assertNotNull(cacheManager.getCache("movies"));
+		assertNotNull(cacheManager.getCache("reviews"));
+		assertNull(cacheManager.getCache("unknown"));
+	}
+
+	@Test
+	void testCacheIsBoundedByEstimatedBytes() {
+		CacheSizingProperties.Spec spec = new CacheSizingProperties.Spec();
+		spec.setMaxWeight(64 * 1024);
+		spec.setExpireAfterWrite(Duration.ofMinutes(1));
+		Cache<Object, Object> cache = CacheConfig.buildCache("movies", spec, new CachedPageIndex());
+
+		for (int i = 0; i < 100; i++) {
+			cache.put(PageRequest.of(i, 10), new PageImpl<>(movies(10, 5)));
+		}
+		cache.cleanUp();
+
+		long weight = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+		assertTrue(weight <= 64 * 1024, "weighted size was " + weight);
+		assertTrue(cache.estimatedSize() < 100);
+		assertTrue(cache.stats().evictionCount() > 0);
+	}
+
+	@Test
+	void testEvictedPageIsForgottenByIndex() {
+		CacheSizingProperties.Spec spec = new CacheSizingProperties.Spec();
+		spec.setMaxWeight(1);
+		CachedPageIndex cachedPageIndex = new CachedPageIndex();
+		Cache<Object, Object> cache = CacheConfig.buildCache("movies", spec, cachedPageIndex);
+
+		PageRequest key = PageRequest.of(0, 10);
+		PageImpl<MovieResponseDto> page = new PageImpl<>(movies(2, 1));
+		cachedPageIndex.register("movies", key, page, List.of(1L, 2L));
+		cache.put(key, page);
+		cache.cleanUp();
+
+		assertTrue(cachedPageIndex.keysContaining("movies", 1L).isEmpty());
+	}
+
+	@Test
+	void testLateEvictionKeepsRegistrationOfReloadedPage() {
+		CacheSizingProperties.Spec spec = new CacheSizingProperties.Spec();
+		spec.setMaxWeight(1);
+		CachedPageIndex cachedPageIndex = new CachedPageIndex();
+		Cache<Object, Object> cache = CacheConfig.buildCache("movies", spec, cachedPageIndex);
+
+		PageRequest key = PageRequest.of(0, 10);
+		PageImpl<MovieResponseDto> stale = new PageImpl<>(movies(2, 1));
+		cachedPageIndex.register("movies", key, stale, List.of(1L, 2L));
+		cache.put(key, stale);
+		// the key is reloaded before the eviction of the old page is reported
+		cachedPageIndex.register("movies", key, new PageImpl<>(movies(2, 1)), List.of(1L, 3L));
+		cache.cleanUp();
+
+		assertEquals(List.of(key), cachedPageIndex.keysContaining("movies", 3L));
+		assertEquals(List.of(key), cachedPageIndex.keysContaining("movies", 1L));
+		assertTrue(cachedPageIndex.keysContaining("movies", 2L).isEmpty());
+	}
+
+	@Test
+	void testEstimateGrowsWithNestedReviews() {
+		long small = DtoSizeEstimator.estimate(movies(1, 1).get(0));
+		long large = DtoSizeEstimator.estimate(movies(1, 100).get(0));
+
+		assertTrue(large > small * 50);
+	}
+
+	private static List<MovieResponseDto> movies(int count, int reviewsPerMovie) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> MovieResponseDto.builder()
+				.id((long) i)
+				.title("Movie " + i)
+				.genre("Drama")
+				.director("Director")
+				.reviews(IntStream.range(0, reviewsPerMovie)
+					.mapToObj(r -> ReviewResponseDto.builder()
+						.id((long) r)
+						.rating(5)
+						.comment("A long enough review comment number " + r)
+						.reviewerName("Reviewer")
+						.movieId((long) i)
+						.build())
+					.toList())
+				.build())
+			.toList();
+	}
+}
\ No newline at end of file
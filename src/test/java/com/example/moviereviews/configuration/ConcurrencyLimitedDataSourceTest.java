@@ -0,0 +1,63 @@
+package com.example.moviereviews.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+	@Mock
+	private DataSource target;
+
+	@Mock
+	private Connection connection;
+
+	@Test
+	void testPermitIsReleasedOnceWhenConnectionIsClosed() throws Exception {
+		when(target.getConnection()).thenReturn(connection);
+		ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(10));
+
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+		assertEquals(0, dataSource.availablePermits());
+
+		first.close();
+		first.close();
+		assertEquals(1, dataSource.availablePermits());
+		verify(connection, times(1)).close();
+
+		second.close();
+		assertEquals(2, dataSource.availablePermits());
+	}
+
+	@Test
+	void testAcquireTimesOutWhenAllPermitsAreTaken() throws Exception {
+		when(target.getConnection()).thenReturn(connection);
+		ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10));
+
+		dataSource.getConnection();
+
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		verify(target, times(1)).getConnection();
+	}
+
+	@Test
+	void testPermitIsReturnedWhenTargetFails() throws Exception {
+		when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+		ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10));
+
+		assertThrows(SQLException.class, dataSource::getConnection);
+		assertEquals(1, dataSource.availablePermits());
+	}
+}
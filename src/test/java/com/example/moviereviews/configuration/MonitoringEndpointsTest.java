@@ -0,0 +1,54 @@
+package com.example.moviereviews.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MonitoringEndpointsTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testPrometheusScrapeIsPublicAndExposesCacheHibernateAndPoolMetrics() throws Exception {
+		mockMvc.perform(get("/api/movies").header(HttpHeaders.AUTHORIZATION, basic("admin", "password")))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+			.andExpect(content().string(containsString("uri=\"/api/movies\"")))
+			.andExpect(content().string(containsString("cache_gets_total{")))
+			.andExpect(content().string(containsString("hibernate_query_executions_total")))
+			.andExpect(content().string(containsString("hikaricp_connections_max")));
+	}
+
+	@Test
+	void testHealthIsPublicButApiAndOtherActuatorEndpointsRequireAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/metrics"))
+			.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/movies"))
+			.andExpect(status().isUnauthorized());
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
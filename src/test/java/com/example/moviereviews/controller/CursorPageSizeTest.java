@@ -0,0 +1,46 @@
+package com.example.moviereviews.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursorPageSizeTest {
+
+	private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testSizeOutsideRangeIsRejected() throws Exception {
+		for (String size : new String[]{"0", "-1", "101", String.valueOf(Integer.MAX_VALUE)}) {
+			mockMvc.perform(get("/api/movies").param("after", "").param("size", size).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").exists());
+			mockMvc.perform(get("/api/reviews").param("after", "").param("size", size).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+				.andExpect(status().isBadRequest());
+			mockMvc.perform(get("/api/movies/1/reviews").param("size", size).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+				.andExpect(status().isBadRequest());
+		}
+	}
+
+	@Test
+	void testSizeWithinRangeIsAccepted() throws Exception {
+		mockMvc.perform(get("/api/movies").param("after", "").param("size", "100").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/reviews").param("after", "").param("size", "1").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isOk());
+	}
+}
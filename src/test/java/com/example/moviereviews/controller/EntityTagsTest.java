@@ -0,0 +1,46 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+	@Test
+	void testIfNoneMatchUsesWeakComparisonAndLists() {
+		String etag = EntityTags.movie(1L, 3L);
+
+		assertEquals("\"movie-1-3\"", etag);
+		assertFalse(EntityTags.noneMatch("\"movie-1-2\", W/\"movie-1-3\"", etag));
+		assertFalse(EntityTags.noneMatch("*", etag));
+		assertTrue(EntityTags.noneMatch("\"movie-1-2\"", etag));
+		assertTrue(EntityTags.noneMatch(null, etag));
+	}
+
+	@Test
+	void testIfMatchYieldsExpectedVersionForTheSameResourceOnly() {
+		assertNull(EntityTags.expectedVersion(null, "movie", 1L));
+		assertNull(EntityTags.expectedVersion("*", "movie", 1L));
+		assertEquals(3L, EntityTags.expectedVersion("\"movie-1-3\"", "movie", 1L));
+
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.expectedVersion("\"movie-2-3\"", "movie", 1L));
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.expectedVersion("W/\"movie-1-3\"", "movie", 1L));
+		assertThrows(PreconditionFailedException.class, () -> EntityTags.expectedVersion("\"review-1-3\"", "movie", 1L));
+	}
+
+	@Test
+	void testListTagChangesWhenAnyMemberVersionChanges() {
+		MovieResponseDto first = MovieResponseDto.builder().id(1L).version(1L).build();
+		MovieResponseDto second = MovieResponseDto.builder().id(2L).version(5L).build();
+		String before = EntityTags.movies("p0s10", List.of(first, second), 2);
+
+		assertEquals(before, EntityTags.movies("p0s10", List.of(first, second), 2));
+		second.setVersion(6L);
+		assertNotEquals(before, EntityTags.movies("p0s10", List.of(first, second), 2));
+		assertNotEquals(before, EntityTags.movies("p0s10", List.of(first, second), 3));
+	}
+}
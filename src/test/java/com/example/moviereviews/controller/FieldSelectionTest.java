@@ -0,0 +1,111 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import com.example.moviereviews.service.MovieService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FieldSelectionTest {
+
+	private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	private Long movieId;
+
+	@BeforeEach
+	void setUp() {
+		movieId = movieService.createMovieWithReviews(MovieRequestDto.builder()
+			.title("Stalker")
+			.releaseYear(1979)
+			.genre("Sci-Fi")
+			.director("Andrei Tarkovsky")
+			.reviews(List.of())
+			.build()).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		reviewRepository.deleteAllInBatch();
+		movieRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void testMovieContainsOnlySelectedFieldsAndId() throws Exception {
+		JsonNode movie = getJson("/api/movies/" + movieId + "?fields=title");
+
+		assertEquals(Set.of("id", "title"), fieldNames(movie));
+		assertEquals(movieId, movie.get("id").asLong());
+		assertEquals("Stalker", movie.get("title").asText());
+	}
+
+	@Test
+	void testMoviePageContainsOnlySelectedFieldsAndId() throws Exception {
+		JsonNode content = getJson("/api/movies?page=0&size=7&fields=title,releaseYear").get("content");
+
+		assertFalse(content.isEmpty());
+		for (JsonNode movie : content) {
+			assertEquals(Set.of("id", "title", "releaseYear"), fieldNames(movie));
+		}
+	}
+
+	@Test
+	void testUnknownFieldIsRejected() throws Exception {
+		mockMvc.perform(get("/api/movies/" + movieId).param("fields", "title,budget").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.error").exists());
+		mockMvc.perform(get("/api/movies").param("fields", "reviews").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/reviews").param("fields", "title").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isBadRequest());
+	}
+
+	private JsonNode getJson(String uri) throws Exception {
+		String body = mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readTree(body);
+	}
+
+	private static Set<String> fieldNames(JsonNode node) {
+		Set<String> names = new HashSet<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
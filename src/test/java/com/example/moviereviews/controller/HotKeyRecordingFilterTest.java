@@ -0,0 +1,79 @@
+package com.example.moviereviews.controller;
+
+import com.example.moviereviews.cache.CacheSizingProperties;
+import com.example.moviereviews.cache.ResponseBodyCache;
+import com.example.moviereviews.cache.ResponseCacheFilter;
+import com.example.moviereviews.service.CacheWarmer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotKeyRecordingFilterTest {
+
+	@Mock
+	private CacheWarmer cacheWarmer;
+
+	@InjectMocks
+	private HotKeyRecordingFilter filter;
+
+	@Test
+	void testResponseCacheHitsAreStillRecorded() throws Exception {
+		ResponseCacheFilter responseCacheFilter = new ResponseCacheFilter(new ResponseBodyCache(new CacheSizingProperties()), new ObjectMapper());
+		AtomicInteger handled = new AtomicInteger();
+		HttpServlet controller = new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				handled.incrementAndGet();
+				response.setContentType("application/json");
+				response.getWriter().write("{\"content\":[]}");
+			}
+		};
+
+		for (int i = 0; i < 3; i++) {
+			new MockFilterChain(controller, filter, responseCacheFilter).doFilter(get("/api/movies", Map.of("page", "1")), new MockHttpServletResponse());
+		}
+
+		assertEquals(1, handled.get());
+		verify(cacheWarmer, times(3)).recordPage(1, 10, false);
+	}
+
+	@Test
+	void testGenreAndFullViewAreRecorded() throws Exception {
+		filter.doFilter(get("/api/movies/by-genre", Map.of("genre", "Drama", "view", "FULL")), new MockHttpServletResponse(), new MockFilterChain());
+
+		verify(cacheWarmer).recordGenre("Drama", true);
+	}
+
+	@Test
+	void testUncacheableAndMalformedRequestsAreNotRecorded() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(get("/api/movies", Map.of("fields", "title")), new MockHttpServletResponse(), new MockFilterChain());
+		filter.doFilter(get("/api/movies", Map.of("after", "")), new MockHttpServletResponse(), new MockFilterChain());
+		filter.doFilter(get("/api/movies", Map.of("view", "compact")), new MockHttpServletResponse(), chain);
+
+		verifyNoInteractions(cacheWarmer);
+		assertNotNull(chain.getRequest());
+	}
+
+	private static MockHttpServletRequest get(String uri, Map<String, String> parameters) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		parameters.forEach(request::addParameter);
+		return request;
+	}
+}
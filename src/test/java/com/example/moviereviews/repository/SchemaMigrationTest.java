@@ -0,0 +1,56 @@
+package com.example.moviereviews.repository;
+
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+	"spring.jpa.hibernate.ddl-auto=validate",
+	"spring.flyway.enabled=true"
+})
+class SchemaMigrationTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	@Test
+	void testMigrationsCreateAccessPathIndexes() {
+		List<String> indexes = jdbcTemplate.queryForList(
+			"SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) IN ('movie', 'review')",
+			String.class);
+
+		assertTrue(indexes.containsAll(List.of(
+			"idx_movie_genre_average_rating", "idx_review_movie_id_id", "idx_review_movie_id_rating")), indexes.toString());
+	}
+
+	@Test
+	void testMigratedSchemaAcceptsWrites() {
+		Long movieId = movieService.createMovieWithReviews(MovieRequestDto.builder()
+			.title("Inception")
+			.releaseYear(2010)
+			.genre("Sci-Fi")
+			.director("Christopher Nolan")
+			.reviews(List.of(
+				ReviewRequestDto.builder().rating(5).comment("Great").reviewerName("Alice").build(),
+				ReviewRequestDto.builder().rating(3).comment("Fine").reviewerName("Bob").build()))
+			.build()).getId();
+
+		assertEquals(8L, reviewRepository.aggregateRatingsForMovie(movieId).orElseThrow().getRatingSum());
+		assertNotNull(movieService.getMovieVersion(movieId));
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.moviereviews.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+	@Test
+	void testCombinesMovieAndReviewMatchesPerMovie() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, "Inception Christopher Nolan");
+		index.indexMovie(2L, "Heat Michael Mann");
+		index.indexMovie(3L, "Ocean's Eleven Steven Soderbergh");
+		index.indexReview(10L, 1L, "A dream heist like no other");
+		index.indexReview(11L, 2L, "Great heist, great shootout, great cast");
+		index.indexReview(12L, 3L, "Fun casino movie");
+
+		InvertedIndex.SearchHits result = index.search("Nolan heist", 0, 10);
+
+		assertEquals(2, result.total());
+		assertEquals(1L, result.hits().get(0).movieId());
+		assertEquals(10L, result.hits().get(0).matchedReviewId());
+		assertEquals(2L, result.hits().get(1).movieId());
+	}
+
+	@Test
+	void testRanksRareTermsAndShorterDocumentsHigher() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, "Alien");
+		index.indexMovie(2L, "Aliens");
+		index.indexReview(10L, 1L, "space horror classic");
+		index.indexReview(11L, 2L, "space action sequel with marines and a lot of space combat");
+
+		List<InvertedIndex.MovieHit> hits = index.search("horror space", 0, 10).hits();
+
+		assertEquals(List.of(1L, 2L), hits.stream().map(InvertedIndex.MovieHit::movieId).toList());
+		assertTrue(hits.get(0).score() > hits.get(1).score());
+	}
+
+	@Test
+	void testUpdatesAndDeletesAreVisibleToQueries() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, "Heat");
+		index.indexReview(10L, 1L, "slow and boring");
+
+		index.indexReview(10L, 1L, "tense and brilliant");
+		assertEquals(0, index.search("boring", 0, 10).total());
+		assertEquals(1, index.search("brilliant", 0, 10).total());
+
+		index.removeReview(10L);
+		assertEquals(0, index.search("brilliant", 0, 10).total());
+
+		index.removeMovie(1L);
+		assertEquals(0, index.search("heat", 0, 10).total());
+		assertEquals(0, index.documentCount());
+	}
+
+	@Test
+	void testPagingAndCompactionKeepResultsConsistent() {
+		InvertedIndex index = new InvertedIndex();
+		for (long id = 1; id <= 3000; id++) {
+			index.indexMovie(id, "Movie number " + id);
+			index.indexReview(id, id, id % 2 == 0 ? "even review" : "odd review");
+		}
+		for (long id = 1; id <= 2000; id++) {
+			index.removeReview(id);
+		}
+
+		InvertedIndex.SearchHits firstPage = index.search("even", 0, 10);
+		InvertedIndex.SearchHits secondPage = index.search("even", 10, 10);
+
+		assertEquals(500, firstPage.total());
+		assertEquals(10, secondPage.hits().size());
+		assertTrue(firstPage.hits().stream().allMatch(hit -> hit.movieId() > 2000 && hit.movieId() % 2 == 0));
+		assertNotEquals(firstPage.hits().get(0).movieId(), secondPage.hits().get(0).movieId());
+		assertEquals(4000, index.documentCount());
+	}
+
+	@Test
+	void testTokenizerIgnoresCaseAndPunctuation() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, "Брат 2");
+		index.indexReview(10L, 1L, "Отличный фильм!!! Сила в правде.");
+
+		assertEquals(1, index.search("ОТЛИЧНЫЙ, правде?", 0, 10).total());
+		assertEquals(0, index.search("!!!", 0, 10).total());
+	}
+
+	@Test
+	void testReindexingWithACollidingHashReplacesTheText() {
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, "Aa");
+
+		index.indexMovie(1L, "BB");
+
+		assertEquals(0, index.search("aa", 0, 10).total());
+		assertEquals(1, index.search("bb", 0, 10).total());
+	}
+
+	@Test
+	void testRemovedDocumentsDoNotCountTowardsDocumentFrequency() {
+		InvertedIndex churned = new InvertedIndex();
+		InvertedIndex fresh = new InvertedIndex();
+		for (long id = 1; id <= 10; id++) {
+			churned.indexMovie(id, "Movie " + id);
+			fresh.indexMovie(id, "Movie " + id);
+		}
+		churned.indexReview(100L, 1L, "noir classic");
+		fresh.indexReview(100L, 1L, "noir classic");
+		for (long id = 101; id <= 150; id++) {
+			churned.indexReview(id, 2L, "noir");
+			churned.removeReview(id);
+		}
+
+		assertEquals(fresh.search("noir", 0, 10).hits().get(0).score(), churned.search("noir", 0, 10).hits().get(0).score(), 1e-6);
+	}
+
+	@Test
+	void testOlderVersionsDoNotReplaceNewerDocuments() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, 0L, "Heat");
+		index.indexReview(10L, 1L, 2L, "tense and brilliant");
+
+		index.indexReview(10L, 1L, 1L, "slow and boring");
+		index.indexReview(10L, 1L, 2L, "slow and boring");
+
+		assertEquals(0, index.search("boring", 0, 10).total());
+		assertEquals(1, index.search("brilliant", 0, 10).total());
+	}
+
+	@Test
+	void testSnapshotsReadBeforeADeleteDoNotRestoreTheDocument() {
+		InvertedIndex index = new InvertedIndex();
+		index.indexMovie(1L, 3L, "Heat");
+		index.indexReview(10L, 1L, 1L, "tense and brilliant");
+
+		index.removeReview(10L);
+		index.removeMovie(1L);
+		index.indexReview(10L, 1L, 2L, "tense and brilliant");
+		index.indexMovie(1L, 4L, "Heat");
+
+		assertEquals(0, index.search("heat brilliant", 0, 10).total());
+		assertEquals(0, index.documentCount());
+	}
+}
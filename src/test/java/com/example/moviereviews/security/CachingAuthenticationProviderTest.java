@@ -0,0 +1,64 @@
+package com.example.moviereviews.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+	@Mock
+	private AuthenticationProvider delegate;
+
+	@Test
+	void testRepeatedLoginSkipsPasswordHashing() {
+		when(delegate.authenticate(any())).thenAnswer(invocation -> authenticated("admin"));
+		CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 10, Duration.ofMinutes(5));
+
+		Authentication first = provider.authenticate(login("admin", "password"));
+		Authentication second = provider.authenticate(login("admin", "password"));
+
+		assertTrue(first.isAuthenticated());
+		assertTrue(second.isAuthenticated());
+		assertEquals("admin", second.getName());
+		assertNull(second.getCredentials());
+		verify(delegate, times(1)).authenticate(any());
+	}
+
+	@Test
+	void testWrongPasswordIsAlwaysVerifiedByDelegate() {
+		when(delegate.authenticate(any())).thenAnswer(invocation -> {
+			Authentication request = invocation.getArgument(0);
+			if (!"password".equals(request.getCredentials())) {
+				throw new BadCredentialsException("Bad credentials");
+			}
+			return authenticated("admin");
+		});
+		CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 10, Duration.ofMinutes(5));
+
+		provider.authenticate(login("admin", "password"));
+
+		assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("admin", "wrong")));
+		assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("admin", "wrong")));
+		verify(delegate, times(3)).authenticate(any());
+	}
+
+	private static Authentication login(String username, String password) {
+		return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+	}
+
+	private static Authentication authenticated(String username) {
+		return UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+}
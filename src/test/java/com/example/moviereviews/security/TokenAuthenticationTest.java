@@ -0,0 +1,69 @@
+package com.example.moviereviews.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void testLoginIssuesTokenAcceptedByApi() throws Exception {
+		String token = login();
+
+		mockMvc.perform(get("/api/movies").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void testInvalidTokenIsRejected() throws Exception {
+		String token = login();
+
+		mockMvc.perform(get("/api/movies").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+			.andExpect(status().isUnauthorized())
+			.andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+	}
+
+	@Test
+	void testTokenCannotRenewItself() throws Exception {
+		String token = login();
+
+		mockMvc.perform(post("/api/auth/login").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/auth/login").header(HttpHeaders.AUTHORIZATION, basic("admin", "wrong")))
+			.andExpect(status().isUnauthorized());
+	}
+
+	private String login() throws Exception {
+		String body = mockMvc.perform(post("/api/auth/login").header(HttpHeaders.AUTHORIZATION, basic("admin", "password")))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.tokenType").value("Bearer"))
+			.andExpect(jsonPath("$.expiresIn").value(900))
+			.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("accessToken").asText();
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.moviereviews.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	private final TokenService tokenService = service(NOW);
+
+	@Test
+	void testIssuedTokenVerifiesWithoutUserLookup() {
+		String token = tokenService.issue(user("admin"));
+
+		Authentication authentication = tokenService.verify(token);
+
+		assertNotNull(authentication);
+		assertTrue(authentication.isAuthenticated());
+		assertEquals("admin", authentication.getName());
+		assertEquals(List.of("ROLE_USER"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()).stream().toList());
+	}
+
+	@Test
+	void testTamperedTokensAreRejected() {
+		String token = tokenService.issue(user("admin"));
+		String forgedUser = tokenService.issue(user("root"));
+		String forged = forgedUser.substring(0, forgedUser.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+		assertNull(tokenService.verify(forged));
+		assertNull(tokenService.verify(flipCharacter(token, token.lastIndexOf('.') + 5)));
+		assertNull(tokenService.verify(flipCharacter(token, 2)));
+		assertNull(tokenService.verify("not-a-token"));
+		assertNull(service(NOW, "other-secret").verify(token));
+	}
+
+	@Test
+	void testExpiredTokenIsRejected() {
+		String token = tokenService.issue(user("admin"));
+
+		assertNotNull(service(NOW.plus(Duration.ofMinutes(14))).verify(token));
+		assertNull(service(NOW.plus(Duration.ofMinutes(15))).verify(token));
+	}
+
+	private static String flipCharacter(String token, int index) {
+		char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+		return token.substring(0, index) + replacement + token.substring(index + 1);
+	}
+
+	private static TokenService service(Instant now) {
+		return service(now, "test-secret");
+	}
+
+	private static TokenService service(Instant now, String secret) {
+		return new TokenService(secret, Duration.ofMinutes(15), Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private static Authentication user(String name) {
+		return UsernamePasswordAuthenticationToken.authenticated(name, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+}
@@ -0,0 +1,154 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.cache.CacheSizingProperties;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+	@Mock
+	private MovieService movieService;
+
+	@Mock
+	private CacheManager cacheManager;
+
+	@TempDir
+	private Path directory;
+
+	private CacheSizingProperties properties;
+	private CacheWarmer cacheWarmer;
+
+	@BeforeEach
+	void setUp() {
+		properties = new CacheSizingProperties();
+		properties.getWarmUp().setMaxKeys(2);
+		properties.getWarmUp().setFile(directory.resolve("keys.txt").toString());
+		cacheWarmer = new CacheWarmer(movieService, cacheManager, properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		cacheWarmer.shutdown();
+	}
+
+	@Test
+	void testHotKeysKeepMostFrequentlyRequested() {
+		record("Drama", 5);
+		record("Comedy", 1);
+		record("Horror", 3);
+
+		assertEquals(List.of(WarmKey.genre("Drama", false), WarmKey.genre("Horror", false)), cacheWarmer.hotKeys());
+	}
+
+	@Test
+	void testPersistedKeysAreWarmedOnNextStart() throws Exception {
+		record("Drama", 2);
+		cacheWarmer.recordPage(0, 10, true);
+		cacheWarmer.recordPage(50, 10, true);
+		cacheWarmer.recordPage(0, 5_000, true);
+		cacheWarmer.shutdown();
+
+		assertEquals(2, Files.readAllLines(directory.resolve("keys.txt")).size());
+
+		cacheWarmer = new CacheWarmer(movieService, cacheManager, properties);
+		cacheWarmer.run(null);
+
+		verify(movieService).findMovieSummariesByGenre("Drama");
+		verify(movieService).getAllMovies(PageRequest.of(0, 10));
+		verifyNoMoreInteractions(movieService);
+	}
+
+	@Test
+	void testOnlyEvictedHotKeysAreRewarmed() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CacheInvalidator.MOVIES);
+		cache.put(CacheInvalidator.summaryKey("Drama"), List.of());
+		when(cacheManager.getCache(CacheInvalidator.MOVIES)).thenReturn(cache);
+		record("Drama", 1);
+		record("Comedy", 1);
+
+		cacheWarmer.onMovieChanged(MovieChangedEvent.created(MovieSummaryDto.builder().id(1L).genre("Comedy").build()));
+		cacheWarmer.rewarmIfRequested();
+
+		verify(movieService, timeout(1_000)).findMovieSummariesByGenre("Comedy");
+		verify(movieService, never()).findMovieSummariesByGenre("Drama");
+	}
+
+	@Test
+	void testBurstOfEventsIsRewarmedOnce() {
+		when(cacheManager.getCache(CacheInvalidator.MOVIES)).thenReturn(new ConcurrentMapCache(CacheInvalidator.MOVIES));
+		record("Comedy", 1);
+
+		for (long id = 1; id <= 100; id++) {
+			cacheWarmer.onMovieChanged(MovieChangedEvent.updated("Comedy", MovieSummaryDto.builder().id(id).genre("Comedy").build()));
+		}
+		verifyNoInteractions(movieService);
+
+		cacheWarmer.rewarmIfRequested();
+		cacheWarmer.rewarmIfRequested();
+
+		verify(movieService, after(300).times(1)).findMovieSummariesByGenre("Comedy");
+	}
+
+	@Test
+	void testHotKeysCanBeListedWhileRequestsAreRecorded() throws Exception {
+		properties.getWarmUp().setMaxKeys(50);
+		cacheWarmer = new CacheWarmer(movieService, cacheManager, properties);
+		for (int i = 0; i < 50; i++) {
+			record("Genre " + i, 1);
+		}
+
+		Thread recorder = new Thread(() -> {
+			for (int i = 0; !Thread.currentThread().isInterrupted(); i++) {
+				cacheWarmer.recordGenre("Genre " + i % 50, false);
+			}
+		});
+		recorder.start();
+		try {
+			for (int i = 0; i < 2_000; i++) {
+				assertEquals(50, cacheWarmer.hotKeys().size());
+			}
+		} finally {
+			recorder.interrupt();
+			recorder.join();
+		}
+	}
+
+	@Test
+	void testSketchRanksFrequentKeysAboveRareOnes() {
+		FrequencySketch sketch = new FrequencySketch(50);
+		for (int i = 0; i < 1_000; i++) {
+			sketch.increment("rare-" + i);
+			if (i % 10 == 0) {
+				sketch.increment("hot");
+			}
+		}
+
+		assertTrue(sketch.frequency("hot") >= 100);
+		assertTrue(sketch.frequency("rare-1") < sketch.frequency("hot"));
+	}
+
+	private void record(String genre, int times) {
+		for (int i = 0; i < times; i++) {
+			cacheWarmer.recordGenre(genre, false);
+		}
+	}
+}
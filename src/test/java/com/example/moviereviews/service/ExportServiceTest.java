@@ -0,0 +1,98 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private ReviewRepository reviewRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	private ExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		exportService = new ExportService(movieRepository, reviewRepository, new ObjectMapper(), entityManager);
+		ReflectionTestUtils.setField(exportService, "flushInterval", 2);
+	}
+
+	@Test
+	void testExportMoviesAsNdjson() throws Exception {
+		when(movieRepository.streamAllSummaries()).thenReturn(Stream.of(
+			new MovieSummaryDto(1L, 0L, "Inception", 2010, "Sci-Fi", "Nolan", 4.5, 2),
+			new MovieSummaryDto(2L, 0L, "Heat", 1995, "Crime", null, 0.0, 0)));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long written = exportService.exportMovies(ExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, written);
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("{\"id\":1,\"title\":\"Inception\""));
+		assertTrue(lines[1].contains("\"director\":null"));
+		verify(entityManager).clear();
+	}
+
+	@Test
+	void testExportReviewsAsCsvEscapesValues() throws Exception {
+		when(reviewRepository.streamAllResponses()).thenReturn(Stream.of(
+			new ReviewResponseDto(10L, 5, "Great, \"must\" see", "Alice", 1L, 0L),
+			new ReviewResponseDto(11L, 3, null, "Bob", 1L, 0L)));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportReviews(ExportFormat.CSV, out);
+
+		assertEquals("""
+			id,movieId,rating,reviewerName,comment
+			10,1,5,Alice,"Great, ""must"" see"
+			11,1,3,Bob,
+			""", out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testExportClosesRepositoryStream() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		when(reviewRepository.streamAllResponses()).thenReturn(LongStream.rangeClosed(1, 5)
+			.mapToObj(id -> new ReviewResponseDto(id, 4, "ok", "Reviewer", 1L, 0L))
+			.onClose(() -> closed.set(true)));
+
+		long written = exportService.exportReviews(ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+		assertEquals(5, written);
+		assertTrue(closed.get());
+		verify(entityManager, times(2)).clear();
+	}
+
+	@Test
+	void testUnknownFormatIsRejected() {
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> ExportFormat.of("xml"));
+		assertEquals("Неподдерживаемый формат экспорта: xml", exception.getMessage());
+		assertEquals(ExportFormat.CSV, ExportFormat.of("CSV"));
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.moviereviews.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldProjectionTest {
+
+	@Test
+	void testParseReturnsCanonicalOrderAndAlwaysIncludesId() {
+		assertEquals(List.of("id", "title", "averageRating"), FieldProjection.MOVIE.parse("averageRating, title"));
+		assertEquals(List.of("id", "rating"), FieldProjection.REVIEW.parse("rating,,id,rating"));
+	}
+
+	@Test
+	void testParseCanonicalizesEquivalentRequestsToTheSameKey() {
+		assertEquals(FieldProjection.MOVIE.parse("genre,title"), FieldProjection.MOVIE.parse("title,genre,id"));
+	}
+
+	@Test
+	void testParseRejectsUnknownField() {
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> FieldProjection.MOVIE.parse("title,reviews"));
+
+		assertTrue(exception.getMessage().contains("reviews"));
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreLeaderboardTest {
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@InjectMocks
+	private GenreLeaderboard leaderboard;
+
+	@Test
+	void testSeedOrdersByAverageRatingThenId() {
+		when(movieRepository.findRatedMovieSummaries()).thenReturn(List.of(
+			summary(1L, "Drama", 3.5, 2),
+			summary(2L, "Drama", 4.5, 4),
+			summary(3L, "Drama", 4.5, 1),
+			summary(4L, "Comedy", 5.0, 1)
+		));
+
+		leaderboard.seed();
+
+		assertEquals(List.of(2L, 3L, 1L), ids(leaderboard.top("Drama", 10)));
+		assertEquals(List.of(2L, 3L), ids(leaderboard.top("Drama", 2)));
+		assertEquals(List.of(4L), ids(leaderboard.top("Comedy", 10)));
+		assertTrue(leaderboard.top("Horror", 10).isEmpty());
+	}
+
+	@Test
+	void testUpdateMovesMovieWithinAndAcrossGenres() {
+		when(movieRepository.findRatedMovieSummaries()).thenReturn(List.of(
+			summary(1L, "Drama", 3.0, 1),
+			summary(2L, "Drama", 4.0, 1)
+		));
+		leaderboard.seed();
+
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", summary(1L, "Drama", 5.0, 2)));
+		assertEquals(List.of(1L, 2L), ids(leaderboard.top("Drama", 10)));
+
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", summary(2L, "Thriller", 4.0, 1)));
+		assertEquals(List.of(1L), ids(leaderboard.top("Drama", 10)));
+		assertEquals(List.of(2L), ids(leaderboard.top("Thriller", 10)));
+	}
+
+	@Test
+	void testMoviesWithoutReviewsAndDeletedMoviesAreNotRanked() {
+		leaderboard.onMovieChanged(MovieChangedEvent.created(summary(1L, "Drama", 0.0, 0)));
+		leaderboard.onMovieChanged(MovieChangedEvent.created(summary(2L, "Drama", 4.0, 1)));
+		assertEquals(List.of(2L), ids(leaderboard.top("Drama", 10)));
+
+		leaderboard.onMovieChanged(MovieChangedEvent.deleted(2L, "Drama"));
+		assertTrue(leaderboard.top("Drama", 10).isEmpty());
+	}
+
+	@Test
+	void testOutOfOrderSnapshotsDoNotOverwriteNewerOnes() {
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", versioned(summary(1L, "Drama", 4.0, 2), 5L)));
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", versioned(summary(1L, "Drama", 2.0, 1), 4L)));
+		assertEquals(4.0, leaderboard.top("Drama", 10).get(0).getAverageRating());
+
+		leaderboard.onMovieChanged(MovieChangedEvent.deleted(1L, "Drama"));
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", versioned(summary(1L, "Drama", 5.0, 3), 6L)));
+		assertTrue(leaderboard.top("Drama", 10).isEmpty());
+	}
+
+	@Test
+	void testReseedRepairsMissedChanges() {
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", versioned(summary(1L, "Drama", 2.0, 1), 3L)));
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", versioned(summary(2L, "Drama", 3.0, 1), 3L)));
+		when(movieRepository.findRatedMovieSummaries()).thenReturn(List.of(versioned(summary(1L, "Drama", 4.5, 2), 7L)));
+
+		leaderboard.reseed();
+
+		List<MovieSummaryDto> top = leaderboard.top("Drama", 10);
+		assertEquals(List.of(1L), ids(top));
+		assertEquals(4.5, top.get(0).getAverageRating());
+	}
+
+	private static MovieSummaryDto versioned(MovieSummaryDto summary, Long version) {
+		summary.setVersion(version);
+		return summary;
+	}
+
+	private static MovieSummaryDto summary(Long id, String genre, double averageRating, int reviewCount) {
+		return MovieSummaryDto.builder()
+			.id(id)
+			.title("Movie " + id)
+			.genre(genre)
+			.averageRating(averageRating)
+			.reviewCount(reviewCount)
+			.build();
+	}
+
+	private static List<Long> ids(List<MovieSummaryDto> movies) {
+		return movies.stream().map(MovieSummaryDto::getId).toList();
+	}
+}
\ No newline at end of file
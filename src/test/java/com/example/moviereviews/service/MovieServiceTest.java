@@ -1,17 +1,35 @@
 package com.example.moviereviews.service;
 
+import com.example.moviereviews.cache.CacheInvalidator;
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.IdExistenceFilter;
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
+import com.example.moviereviews.dto.MoviePatchRequestDto;
 import com.example.moviereviews.dto.MovieRequestDto;
 import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
 import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.ChangeType;
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import com.example.moviereviews.exception.ResourceNotFoundException;
 import com.example.moviereviews.mapper.MovieMapper;
 import com.example.moviereviews.mapper.ReviewMapper;
 import com.example.moviereviews.model.Movie;
 import com.example.moviereviews.model.Review;
 import com.example.moviereviews.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.*;
@@ -31,6 +49,24 @@ class MovieServiceTest {
 	@Mock
 	private ReviewMapper reviewMapper;
 
+	@Mock
+	private GenreLeaderboard genreLeaderboard;
+
+	@Spy
+	private CachedPageIndex cachedPageIndex = new CachedPageIndex();
+
+	@Mock
+	private IdExistenceFilter idExistenceFilter;
+
+	@Mock
+	private CacheManager cacheManager;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private EntityManager entityManager;
+
 	@InjectMocks
 	private MovieService movieService;
 
@@ -60,6 +96,8 @@ class MovieServiceTest {
 		verify(movieRepository, times(2)).save(any(Movie.class));
 		verify(movieMapper).toEntity(requestDto);
 		verify(movieMapper).toResponseDto(any(Movie.class));
+		verify(eventPublisher).publishEvent(any(MovieChangedEvent.class));
+		verify(eventPublisher).publishEvent(any(ReviewChangedEvent.class));
 	}
 
 	@Test
@@ -76,6 +114,59 @@ class MovieServiceTest {
 
 		assertEquals(1, result.getTotalElements());
 		verify(movieRepository).findAll(pageable);
+		verify(cachedPageIndex).register(eq("movies"), eq(pageable), same(result), anyList());
+	}
+
+	@Test
+	void testGetMovieSummariesRegistersSummaryKey() {
+		Pageable pageable = PageRequest.of(0, 10);
+		MovieSummaryDto summary = MovieSummaryDto.builder().id(4L).reviewCount(50_000).build();
+		when(movieRepository.findAllSummaries(pageable)).thenReturn(new PageImpl<>(List.of(summary)));
+
+		Page<MovieSummaryDto> result = movieService.getMovieSummaries(pageable);
+
+		assertEquals(50_000, result.getContent().get(0).getReviewCount());
+		verify(cachedPageIndex).register("movies", CacheInvalidator.summaryKey(pageable), result, List.of(4L));
+		verifyNoInteractions(movieMapper);
+	}
+
+	@Test
+	void testGetMoviesAfterReturnsNextCursor() {
+		Movie first = Movie.builder().id(11L).build();
+		Movie second = Movie.builder().id(12L).build();
+		Movie third = Movie.builder().id(13L).build();
+		when(movieRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(first, second, third));
+		when(movieMapper.toResponseDto(any(Movie.class))).thenReturn(new MovieResponseDto());
+
+		CursorPageDto<MovieResponseDto> page = movieService.getMoviesAfter("", 2);
+
+		assertEquals(2, page.getSize());
+		assertNotNull(page.getNextCursor());
+
+		when(movieRepository.findByIdGreaterThanOrderByIdAsc(12L, Limit.of(3))).thenReturn(List.of(third));
+
+		CursorPageDto<MovieResponseDto> last = movieService.getMoviesAfter(page.getNextCursor(), 2);
+
+		assertEquals(1, last.getSize());
+		assertNull(last.getNextCursor());
+	}
+
+	@Test
+	void testGetMoviesAfterClampsOversizedPage() {
+		when(movieRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPageDto.MAX_SIZE + 1))).thenReturn(List.of());
+
+		CursorPageDto<MovieResponseDto> page = movieService.getMoviesAfter("", Integer.MAX_VALUE);
+
+		assertEquals(0, page.getSize());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void testGetMoviesAfterRejectsMalformedCursor() {
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> movieService.getMoviesAfter("not-a-cursor", 10));
+
+		assertTrue(exception.getMessage().startsWith("Некорректный курсор"));
+		verifyNoInteractions(movieRepository);
 	}
 
 	@Test
@@ -84,6 +175,7 @@ class MovieServiceTest {
 		movie.setId(1L);
 		MovieResponseDto dto = new MovieResponseDto();
 
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 1L)).thenReturn(true);
 		when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
 		when(movieMapper.toResponseDto(movie)).thenReturn(dto);
 
@@ -95,25 +187,185 @@ class MovieServiceTest {
 
 	@Test
 	void testGetMovieByIdNotFound() {
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 1L)).thenReturn(true);
 		when(movieRepository.findById(1L)).thenReturn(Optional.empty());
 
-		RuntimeException exception = assertThrows(RuntimeException.class, () -> movieService.getMovieById(1L));
+		RuntimeException exception = assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieById(1L));
 
 		assertEquals("Фильм с ID 1 не найден", exception.getMessage());
+		verify(idExistenceFilter).recordFalsePositive(IdExistenceFilter.Kind.MOVIE);
+	}
+
+	@Test
+	void testGetMovieByIdSkipsRepositoryForFilteredId() {
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 404L)).thenReturn(false);
+
+		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieById(404L));
+
+		assertEquals("Фильм с ID 404 не найден", exception.getMessage());
+		assertEquals(0, exception.getStackTrace().length);
+		verifyNoInteractions(movieRepository);
+	}
+
+	@Test
+	void testGetMoviesByIdsReturnsRequestOrderWithMissingMarkers() {
+		ConcurrentMapCache cache = new ConcurrentMapCache("movies");
+		MovieResponseDto cached = MovieResponseDto.builder().id(1L).build();
+		cache.put(1L, cached);
+		Movie movie = Movie.builder().id(3L).build();
+		MovieResponseDto loaded = MovieResponseDto.builder().id(3L).build();
+
+		when(cacheManager.getCache("movies")).thenReturn(cache);
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 3L)).thenReturn(true);
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 404L)).thenReturn(false);
+		when(movieRepository.findAllById(List.of(3L))).thenReturn(List.of(movie));
+		when(movieMapper.toResponseDto(movie)).thenReturn(loaded);
+
+		List<LookupItemDto<MovieResponseDto>> result = movieService.getMoviesByIds(List.of(3L, 1L, 404L, 3L));
+
+		assertEquals(List.of(3L, 1L, 404L, 3L), result.stream().map(LookupItemDto::getId).toList());
+		assertEquals(List.of(true, true, false, true), result.stream().map(LookupItemDto::isFound).toList());
+		assertSame(loaded, result.get(0).getData());
+		assertSame(cached, result.get(1).getData());
+		assertNull(result.get(2).getData());
+		assertSame(loaded, cache.get(3L).get());
+		verify(movieRepository, times(1)).findAllById(any());
+	}
+
+	@Test
+	void testGetMoviesByIdsRejectsTooManyIds() {
+		List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 101).boxed().toList();
+
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> movieService.getMoviesByIds(ids));
+
+		assertEquals("За один запрос можно получить не более 100 ID", exception.getMessage());
+		verifyNoInteractions(movieRepository);
+	}
+
+	@Test
+	void testUpdateMovieMergesReviewsById() {
+		Movie movie = Movie.builder().id(1L).version(2L).title("Old").genre("Drama").build();
+		Review kept = Review.builder().id(10L).rating(4).comment("Good").reviewerName("Alice").movie(movie).build();
+		Review edited = Review.builder().id(11L).rating(2).comment("Meh").reviewerName("Bob").movie(movie).build();
+		Review dropped = Review.builder().id(12L).rating(1).comment("Bad").reviewerName("Carol").movie(movie).build();
+		movie.setReviews(new ArrayList<>(List.of(kept, edited, dropped)));
+		MovieRequestDto requestDto = MovieRequestDto.builder()
+			.title("New").releaseYear(2010).genre("Drama").director("Nolan")
+			.reviews(List.of(
+				ReviewRequestDto.builder().id(10L).rating(4).comment("Good").reviewerName("Alice").build(),
+				ReviewRequestDto.builder().id(11L).rating(5).comment("Meh").reviewerName("Bob").build(),
+				ReviewRequestDto.builder().rating(3).comment("Fine").reviewerName("Dave").build()))
+			.build();
+
+		when(movieRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(movie));
+		when(movieRepository.save(movie)).thenReturn(movie);
+		when(reviewMapper.toResponseDto(any(Review.class))).thenReturn(ReviewResponseDto.builder().id(11L).build());
+
+		movieService.updateMovie(1L, requestDto);
+
+		assertEquals(3, movie.getReviews().size());
+		assertSame(kept, movie.getReviews().get(0));
+		assertSame(edited, movie.getReviews().get(1));
+		assertNull(movie.getReviews().get(2).getId());
+		assertEquals(5, edited.getRating());
+		assertEquals(12, movie.getRatingSum());
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher, times(4)).publishEvent(events.capture());
+		assertEquals(List.of(ChangeType.UPDATED, ChangeType.DELETED, ChangeType.UPDATED, ChangeType.CREATED),
+			events.getAllValues().stream().map(MovieServiceTest::typeOf).toList());
+		verify(reviewMapper, never()).toResponseDto(kept);
+		verifyNoInteractions(entityManager);
+	}
+
+	@Test
+	void testUpdateMovieForcesVersionWhenOnlyReviewsEdited() {
+		Movie movie = Movie.builder().id(1L).version(2L).title("Same").releaseYear(2010).genre("Drama").director("Nolan").build();
+		Review review = Review.builder().id(10L).rating(4).comment("Good").reviewerName("Alice").movie(movie).build();
+		movie.setReviews(new ArrayList<>(List.of(review)));
+		MovieRequestDto requestDto = MovieRequestDto.builder()
+			.title("Same").releaseYear(2010).genre("Drama").director("Nolan")
+			.reviews(List.of(ReviewRequestDto.builder().id(10L).rating(4).comment("Great").reviewerName("Alice").build()))
+			.build();
+
+		when(movieRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(movie));
+		when(movieRepository.save(movie)).thenReturn(movie);
+
+		movieService.updateMovie(1L, requestDto);
+
+		assertEquals("Great", review.getComment());
+		verify(entityManager).lock(movie, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+	}
+
+	@Test
+	void testUpdateMovieRejectsForeignReviewId() {
+		Movie movie = Movie.builder().id(1L).genre("Drama").reviews(new ArrayList<>()).build();
+		MovieRequestDto requestDto = MovieRequestDto.builder()
+			.title("New").releaseYear(2010).genre("Drama").director("Nolan")
+			.reviews(List.of(ReviewRequestDto.builder().id(99L).rating(5).comment("Hi").reviewerName("Eve").build()))
+			.build();
+		when(movieRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(movie));
+
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> movieService.updateMovie(1L, requestDto));
+
+		assertEquals("Отзыв с ID 99 не найден у фильма с ID 1", exception.getMessage());
+		verify(movieRepository, never()).save(any());
+	}
+
+	@Test
+	void testPatchMovieLeavesReviewsUntouched() {
+		Movie movie = Movie.builder().id(1L).version(3L).title("Old").releaseYear(2010).genre("Drama").director("Nolan").build();
+		List<Review> reviews = spy(new ArrayList<Review>());
+		movie.setReviews(reviews);
+		MovieSummaryDto summary = MovieSummaryDto.builder().id(1L).version(4L).title("New").genre("Drama").build();
+
+		when(movieRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(movie));
+		when(movieRepository.save(movie)).thenReturn(movie);
+		when(movieMapper.toSummaryDto(movie)).thenReturn(summary);
+
+		MovieSummaryDto result = movieService.patchMovie(1L, MoviePatchRequestDto.builder().title("New").build(), 3L);
+
+		assertSame(summary, result);
+		assertEquals("New", movie.getTitle());
+		assertEquals(2010, movie.getReleaseYear());
+		assertEquals("Nolan", movie.getDirector());
+		verifyNoInteractions(reviews);
+		verify(eventPublisher).publishEvent(MovieChangedEvent.updated("Drama", summary));
 	}
 
 	@Test
 	void testDeleteMovieExists() {
-		when(movieRepository.existsById(1L)).thenReturn(true);
+		Movie movie = Movie.builder().id(1L).genre("Drama").build();
+		movie.setReviews(new ArrayList<>(List.of(Review.builder().id(5L).movie(movie).build())));
+		when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
 
 		movieService.deleteMovie(1L);
 
-		verify(movieRepository).deleteById(1L);
+		verify(movieRepository).delete(movie);
+		ArgumentCaptor<MovieChangedEvent> movieEvent = ArgumentCaptor.forClass(MovieChangedEvent.class);
+		verify(eventPublisher).publishEvent(movieEvent.capture());
+		assertEquals(ChangeType.DELETED, movieEvent.getValue().type());
+		assertEquals(1L, movieEvent.getValue().movieId());
+		assertEquals("Drama", movieEvent.getValue().previousGenre());
+		ArgumentCaptor<ReviewChangedEvent> reviewEvent = ArgumentCaptor.forClass(ReviewChangedEvent.class);
+		verify(eventPublisher).publishEvent(reviewEvent.capture());
+		assertEquals(ChangeType.DELETED, reviewEvent.getValue().type());
+	}
+
+	@Test
+	void testDeleteMovieRejectsStaleVersion() {
+		Movie movie = Movie.builder().id(1L).version(4L).genre("Drama").build();
+		when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+
+		PreconditionFailedException exception = assertThrows(PreconditionFailedException.class, () -> movieService.deleteMovie(1L, 3L));
+
+		assertEquals("Фильм с ID 1 был изменен: текущая версия 4", exception.getMessage());
+		verify(movieRepository, never()).delete(any(Movie.class));
+		verifyNoInteractions(eventPublisher);
 	}
 
 	@Test
 	void testDeleteMovieNotFound() {
-		when(movieRepository.existsById(1L)).thenReturn(false);
+		when(movieRepository.findById(1L)).thenReturn(Optional.empty());
 
 		RuntimeException exception = assertThrows(RuntimeException.class, () -> movieService.deleteMovie(1L));
 
@@ -134,13 +386,17 @@ class MovieServiceTest {
 
 	@Test
 	void testFindTopRatedMoviesByGenre() {
-		List<Movie> movies = List.of(new Movie());
-		when(movieRepository.findTopMoviesByGenreOrderByAverageRatingDesc("Action")).thenReturn(movies);
-		when(movieMapper.toResponseDto(any(Movie.class))).thenReturn(new MovieResponseDto());
+		List<MovieSummaryDto> top = List.of(new MovieSummaryDto());
+		when(genreLeaderboard.top("Action", 5)).thenReturn(top);
 
-		List<MovieResponseDto> result = movieService.findTopRatedMoviesByGenre("Action");
+		List<MovieSummaryDto> result = movieService.findTopRatedMoviesByGenre("Action", 5);
 
 		assertEquals(1, result.size());
-		verify(movieRepository).findTopMoviesByGenreOrderByAverageRatingDesc("Action");
+		verify(genreLeaderboard).top("Action", 5);
+		verifyNoInteractions(movieRepository);
+	}
+
+	private static ChangeType typeOf(Object event) {
+		return event instanceof MovieChangedEvent movieEvent ? movieEvent.type() : ((ReviewChangedEvent) event).type();
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MoviePatchRequestDto;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.model.Review;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class QueryCountIntegrationTest {
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		createMovies("Small", 5);
+		createMovies("Large", 50);
+		createMovies("Drama", 100);
+		cacheManager.getCache("movies").clear();
+		cacheManager.getCache("reviews").clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		reviewRepository.deleteAllInBatch();
+		movieRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void testGetAllMoviesStatementCountIsIndependentOfPageSize() {
+		long small = countStatements(() -> movieService.getAllMovies(PageRequest.of(0, 5)));
+		long medium = countStatements(() -> movieService.getAllMovies(PageRequest.of(0, 20)));
+		long large = countStatements(() -> movieService.getAllMovies(PageRequest.of(0, 100)));
+
+		assertEquals(small, medium);
+		assertEquals(small, large);
+	}
+
+	@Test
+	void testFindMoviesByGenreStatementCountIsIndependentOfGenreSize() {
+		long small = countStatements(() -> movieService.findMoviesByGenre("Small"));
+		long large = countStatements(() -> movieService.findMoviesByGenre("Large"));
+
+		assertEquals(small, large);
+		assertEquals(1, large);
+	}
+
+	@Test
+	void testGetAllReviewsStatementCountIsIndependentOfPageSize() {
+		long small = countStatements(() -> reviewService.getAllReviews(PageRequest.of(0, 5)));
+		long large = countStatements(() -> reviewService.getAllReviews(PageRequest.of(0, 100)));
+
+		assertEquals(small, large);
+	}
+
+	@Test
+	void testSparseMoviePageSelectsOnlyRequestedColumns() {
+		List<String> fields = FieldProjection.MOVIE.parse("title");
+		long statements = countStatements(() -> {
+			Page<Map<String, Object>> page = movieService.getMovieFieldsPage(PageRequest.of(0, 100), fields);
+			assertEquals(100, page.getContent().size());
+			assertEquals(List.of("id", "title"), List.copyOf(page.getContent().get(0).keySet()));
+		});
+
+		assertTrue(statements <= 2);
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(0, statistics.getCollectionLoadCount());
+	}
+
+	@Test
+	void testConcurrentMissesAfterInvalidationRunOneQueryPerKey() {
+		assertEquals(2, countStatements(() -> burst(500, i -> movieService.findMovieSummariesByGenre(i % 2 == 0 ? "Drama" : "Small"))));
+
+		Long dramaId = movieService.findMovieSummariesByGenre("Drama").get(0).getId();
+		movieService.patchMovie(dramaId, MoviePatchRequestDto.builder().director("Another Director").build(), null);
+
+		assertEquals(1, countStatements(() -> burst(500, i -> movieService.findMovieSummariesByGenre("Drama"))));
+		assertEquals(0, countStatements(() -> burst(500, i -> movieService.findMovieSummariesByGenre("Small"))));
+	}
+
+	private long countStatements(Runnable action) {
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static void burst(int readers, IntConsumer read) {
+		ExecutorService executor = Executors.newFixedThreadPool(readers);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>(readers);
+			for (int i = 0; i < readers; i++) {
+				int reader = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					read.accept(reader);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void createMovies(String genre, int count) {
+		IntStream.range(0, count).forEach(i -> {
+			Movie movie = Movie.builder()
+				.title(genre + " " + i)
+				.releaseYear(2000 + i % 20)
+				.genre(genre)
+				.director("Director " + i)
+				.build();
+			List<Review> reviews = new ArrayList<>();
+			for (int r = 1; r <= 3; r++) {
+				reviews.add(Review.builder()
+					.rating(r)
+					.comment("Review " + r)
+					.reviewerName("Reviewer " + r)
+					.movie(movie)
+					.build());
+			}
+			movie.setReviews(reviews);
+			movie.recalculateRatingAggregates();
+			movieRepository.save(movie);
+		});
+	}
+}
\ No newline at end of file
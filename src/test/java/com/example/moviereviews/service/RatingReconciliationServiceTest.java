@@ -0,0 +1,123 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.event.MovieChangedEvent;
+import com.example.moviereviews.dto.MovieSummaryDto;
+import com.example.moviereviews.mapper.MovieMapper;
+import com.example.moviereviews.mapper.ReviewMapper;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.repository.MovieRatingAggregate;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingReconciliationServiceTest {
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private ReviewRepository reviewRepository;
+
+	@Spy
+	private MovieMapper movieMapper = new MovieMapper(new ReviewMapper());
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@InjectMocks
+	private RatingReconciliationService reconciliationService;
+
+	@Test
+	void testReconcileWithoutDrift() {
+		when(reviewRepository.aggregateRatingsByMovie()).thenReturn(List.of(aggregate(1L, 9, 2)));
+		when(movieRepository.findAllRatingAggregates()).thenReturn(List.of(aggregate(1L, 9, 2), aggregate(2L, 0, 0)));
+
+		int drifted = reconciliationService.reconcile();
+
+		assertEquals(0, drifted);
+		verify(movieRepository, never()).findByIdForUpdate(any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void testReconcileFixesDrift() {
+		Movie movie = Movie.builder().id(1L).version(3L).title("Drifted").genre("Drama").ratingSum(4).ratingCount(1).averageRating(4.0).build();
+		GenreLeaderboard leaderboard = new GenreLeaderboard(movieRepository);
+		leaderboard.onMovieChanged(MovieChangedEvent.updated("Drama", movieMapper.toSummaryDto(movie)));
+
+		when(reviewRepository.aggregateRatingsByMovie()).thenReturn(List.of(aggregate(1L, 9, 2)));
+		when(movieRepository.findAllRatingAggregates()).thenReturn(List.of(aggregate(1L, 4, 1)));
+		when(movieRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(movie));
+		when(reviewRepository.aggregateRatingsForMovie(1L)).thenReturn(Optional.of(aggregate(1L, 9, 2)));
+		// the flush writes the repaired aggregates and increments the version
+		doAnswer(invocation -> {
+			movie.setVersion(movie.getVersion() + 1);
+			return null;
+		}).when(movieRepository).flush();
+
+		int drifted = reconciliationService.reconcile();
+
+		assertEquals(1, drifted);
+		assertEquals(9, movie.getRatingSum());
+		assertEquals(2, movie.getRatingCount());
+		assertEquals(4.5, movie.getAverageRating());
+		ArgumentCaptor<MovieChangedEvent> event = ArgumentCaptor.forClass(MovieChangedEvent.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		MovieSummaryDto published = event.getValue().movie();
+		assertEquals(4L, published.getVersion());
+		assertEquals(2, published.getReviewCount());
+
+		leaderboard.onMovieChanged(event.getValue());
+
+		MovieSummaryDto ranked = leaderboard.top("Drama", 10).get(0);
+		assertEquals(4.5, ranked.getAverageRating());
+		assertEquals(4L, ranked.getVersion());
+	}
+
+	@Test
+	void testReconcileResetsMovieWithoutReviews() {
+		Movie movie = Movie.builder().id(2L).ratingSum(5).ratingCount(1).averageRating(5.0).build();
+
+		when(reviewRepository.aggregateRatingsByMovie()).thenReturn(List.of());
+		when(movieRepository.findAllRatingAggregates()).thenReturn(List.of(aggregate(2L, 5, 1)));
+		when(movieRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(movie));
+		when(reviewRepository.aggregateRatingsForMovie(2L)).thenReturn(Optional.empty());
+
+		int drifted = reconciliationService.reconcile();
+
+		assertEquals(1, drifted);
+		assertEquals(0, movie.getRatingSum());
+		assertEquals(0, movie.getRatingCount());
+		assertEquals(0.0, movie.getAverageRating());
+	}
+
+	private static MovieRatingAggregate aggregate(Long movieId, long sum, long count) {
+		return new MovieRatingAggregate() {
+			@Override
+			public Long getMovieId() {
+				return movieId;
+			}
+
+			@Override
+			public Long getRatingSum() {
+				return sum;
+			}
+
+			@Override
+			public Long getRatingCount() {
+				return count;
+			}
+		};
+	}
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.BulkImportResultDto;
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewImportServiceTest {
+
+	@Mock
+	private ReviewService reviewService;
+
+	private ReviewImportService reviewImportService;
+
+	@BeforeEach
+	void setUp() {
+		Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+		reviewImportService = new ReviewImportService(new ObjectMapper(), validator, reviewService);
+		ReflectionTestUtils.setField(reviewImportService, "chunkSize", 2);
+		ReflectionTestUtils.setField(reviewImportService, "maxReportedErrors", 10);
+	}
+
+	@Test
+	void testImportNdjsonInChunks() throws Exception {
+		when(reviewService.createReviews(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+		BulkImportResultDto result = reviewImportService.importReviews(body("""
+			{"movieId": 1, "rating": 5, "comment": "Great", "reviewerName": "Alice"}
+			{"movieId": 1, "rating": 4, "comment": "Good", "reviewerName": "Bob"}
+			{"movieId": 2, "rating": 3, "comment": "Fine", "reviewerName": "Carol"}
+			"""));
+
+		assertEquals(3, result.getTotalRows());
+		assertEquals(3, result.getImported());
+		assertEquals(0, result.getFailed());
+		assertEquals(2, result.getChunks().size());
+		assertEquals(2, result.getChunks().get(0).getRows());
+		assertEquals(1, result.getChunks().get(1).getRows());
+		verify(reviewService, times(2)).createReviews(anyList());
+	}
+
+	@Test
+	void testImportJsonArrayReportsRowErrors() throws Exception {
+		when(reviewService.createReviews(anyList())).thenAnswer(invocation -> {
+			List<BulkReviewRequestDto> rows = invocation.getArgument(0);
+			List<ReviewResponseDto> result = created(rows);
+			for (int i = 0; i < rows.size(); i++) {
+				if (rows.get(i).getMovieId() == 99L) {
+					result.set(i, null);
+				}
+			}
+			return result;
+		});
+
+		BulkImportResultDto result = reviewImportService.importReviews(body("""
+			[
+			  {"movieId": 1, "rating": 5, "comment": "Great", "reviewerName": "Alice"},
+			  {"movieId": 1, "rating": 9, "comment": "Too high", "reviewerName": "Bob"},
+			  {"movieId": 99, "rating": 4, "comment": "Unknown movie", "reviewerName": "Carol"},
+			  {"movieId": "abc", "rating": 4, "comment": "Bad id", "reviewerName": "Dave"}
+			]
+			"""));
+
+		assertEquals(4, result.getTotalRows());
+		assertEquals(1, result.getImported());
+		assertEquals(3, result.getFailed());
+		assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(BulkImportResultDto.RowError::getRow).sorted().toList());
+		assertFalse(result.isErrorsTruncated());
+	}
+
+	private static List<ReviewResponseDto> created(List<BulkReviewRequestDto> rows) {
+		List<ReviewResponseDto> result = new ArrayList<>();
+		for (BulkReviewRequestDto row : rows) {
+			result.add(ReviewResponseDto.builder().movieId(row.getMovieId()).rating(row.getRating()).build());
+		}
+		return result;
+	}
+
+	private static InputStream body(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
\ No newline at end of file
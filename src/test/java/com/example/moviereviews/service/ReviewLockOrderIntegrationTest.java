@@ -0,0 +1,104 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.MovieRequestDto;
+import com.example.moviereviews.dto.MovieResponseDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.model.Review;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReviewLockOrderIntegrationTest {
+
+	private static final int ROUNDS = 20;
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		reviewRepository.deleteAllInBatch();
+		movieRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void testConcurrentReviewAndMovieUpdatesDoNotDeadlock() throws Exception {
+		MovieResponseDto created = movieService.createMovieWithReviews(movie(List.of(review(null, 3, "Initial"), review(null, 4, "Other"))));
+		Long movieId = created.getId();
+		Long reviewId = created.getReviews().get(0).getId();
+		Long otherReviewId = created.getReviews().get(1).getId();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				int rating = 1 + round % 5;
+				CyclicBarrier start = new CyclicBarrier(2);
+				Future<?> reviewEdit = executor.submit(() -> {
+					start.await();
+					return reviewService.updateReview(reviewId, review(null, rating, "Review edit " + rating));
+				});
+				Future<?> movieEdit = executor.submit(() -> {
+					start.await();
+					return movieService.updateMovie(movieId, movie(List.of(review(reviewId, 3, "Initial"), review(otherReviewId, rating, "Movie edit " + rating))));
+				});
+				reviewEdit.get(30, TimeUnit.SECONDS);
+				movieEdit.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Movie movie = movieRepository.findById(movieId).orElseThrow();
+			assertEquals(2, movie.getRatingCount());
+			assertEquals(movie.getReviews().stream().mapToLong(Review::getRating).sum(), movie.getRatingSum());
+		});
+	}
+
+	private static MovieRequestDto movie(List<ReviewRequestDto> reviews) {
+		return MovieRequestDto.builder()
+			.title("Lock order")
+			.releaseYear(1999)
+			.genre("Drama")
+			.director("Director")
+			.reviews(reviews)
+			.build();
+	}
+
+	private static ReviewRequestDto review(Long id, int rating, String comment) {
+		return ReviewRequestDto.builder()
+			.id(id)
+			.rating(rating)
+			.comment(comment)
+			.reviewerName("Reviewer")
+			.build();
+	}
+}
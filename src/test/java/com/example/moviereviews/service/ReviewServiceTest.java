@@ -1,19 +1,37 @@
 package com.example.moviereviews.service;
 
+import com.example.moviereviews.cache.CachedPageIndex;
+import com.example.moviereviews.cache.IdExistenceFilter;
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.CursorPageDto;
+import com.example.moviereviews.dto.LookupItemDto;
+import com.example.moviereviews.dto.MovieSummaryDto;
 import com.example.moviereviews.dto.ReviewRequestDto;
 import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.event.ChangeType;
+import com.example.moviereviews.event.ReviewChangedEvent;
+import com.example.moviereviews.event.ReviewsCreatedEvent;
+import com.example.moviereviews.exception.PreconditionFailedException;
+import com.example.moviereviews.exception.ResourceNotFoundException;
 import com.example.moviereviews.mapper.ReviewMapper;
 import com.example.moviereviews.model.Movie;
 import com.example.moviereviews.model.Review;
 import com.example.moviereviews.repository.MovieRepository;
 import com.example.moviereviews.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,9 +48,27 @@ class ReviewServiceTest {
 	@Mock
 	private ReviewMapper reviewMapper;
 
+	@Spy
+	private CachedPageIndex cachedPageIndex = new CachedPageIndex();
+
+	@Mock
+	private IdExistenceFilter idExistenceFilter;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private CacheManager cacheManager;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private EntityManager entityManager;
+
 	@InjectMocks
 	private ReviewService reviewService;
 
+	@Captor
+	private ArgumentCaptor<List<Review>> savedReviews;
+
 	@Test
 	void testCreateReviewSuccess() {
 		Long movieId = 1L;
@@ -43,7 +79,7 @@ class ReviewServiceTest {
 		Review savedReview = Review.builder().id(10L).movie(movie).build();
 		ReviewResponseDto responseDto = ReviewResponseDto.builder().id(10L).build();
 
-		when(movieRepository.findById(movieId)).thenReturn(Optional.of(movie));
+		when(movieRepository.findByIdForUpdate(movieId)).thenReturn(Optional.of(movie));
 		when(reviewRepository.save(any())).thenReturn(savedReview);
 		when(reviewMapper.toResponseDto(savedReview)).thenReturn(responseDto);
 
@@ -51,14 +87,16 @@ class ReviewServiceTest {
 
 		assertNotNull(result);
 		assertEquals(10L, result.getId());
-		verify(movieRepository).findById(movieId);
+		verify(movieRepository).findByIdForUpdate(movieId);
 		verify(reviewRepository).save(any());
+		assertEquals(5, movie.getRatingSum());
+		assertEquals(1, movie.getRatingCount());
 		verify(reviewMapper).toResponseDto(savedReview);
 	}
 
 	@Test
 	void testCreateReviewMovieNotFound() {
-		when(movieRepository.findById(99L)).thenReturn(Optional.empty());
+		when(movieRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
 		ReviewRequestDto requestDto = ReviewRequestDto.builder()
 			.rating(5)
@@ -73,6 +111,39 @@ class ReviewServiceTest {
 		assertEquals("Фильм с ID 99 не найден", exception.getMessage());
 	}
 
+	@Test
+	void testCreateReviewsInBatch() {
+		Movie movie = Movie.builder().id(1L).genre("Drama").build();
+		List<BulkReviewRequestDto> rows = List.of(
+			BulkReviewRequestDto.builder().movieId(1L).rating(5).comment("Great").reviewerName("Alice").build(),
+			BulkReviewRequestDto.builder().movieId(2L).rating(4).comment("Missing").reviewerName("Bob").build(),
+			BulkReviewRequestDto.builder().movieId(1L).rating(3).comment("Fine").reviewerName("Carol").build()
+		);
+
+		when(movieRepository.findAllByIdForUpdate(List.of(1L, 2L))).thenReturn(List.of(movie));
+		when(reviewMapper.toResponseDto(any(Review.class))).thenReturn(new ReviewResponseDto());
+		MovieSummaryDto summary = MovieSummaryDto.builder().id(1L).genre("Drama").averageRating(4.0).reviewCount(2).build();
+		when(movieRepository.findSummariesByIdIn(Set.of(1L))).thenReturn(List.of(summary));
+
+		List<ReviewResponseDto> result = reviewService.createReviews(rows);
+
+		assertEquals(3, result.size());
+		assertNotNull(result.get(0));
+		assertNull(result.get(1));
+		assertNotNull(result.get(2));
+		verify(reviewRepository).saveAll(savedReviews.capture());
+		assertEquals(2, savedReviews.getValue().size());
+		assertEquals(8, movie.getRatingSum());
+		assertEquals(2, movie.getRatingCount());
+		assertEquals(4.0, movie.getAverageRating());
+		ArgumentCaptor<ReviewsCreatedEvent> event = ArgumentCaptor.forClass(ReviewsCreatedEvent.class);
+		verify(eventPublisher, times(1)).publishEvent(event.capture());
+		assertEquals(2, event.getValue().reviews().size());
+		assertEquals(List.of(summary), event.getValue().movies());
+		assertEquals(Set.of("Drama"), event.getValue().genres());
+		verifyNoMoreInteractions(eventPublisher);
+	}
+
 	@Test
 	void testGetAllReviews() {
 		Pageable pageable = PageRequest.of(0, 10);
@@ -89,11 +160,52 @@ class ReviewServiceTest {
 		verify(reviewRepository).findAll(pageable);
 	}
 
+	@Test
+	void testGetReviewsAfterReturnsNextCursor() {
+		Review first = Review.builder().id(1L).build();
+		Review second = Review.builder().id(2L).build();
+		when(reviewRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, second));
+		when(reviewMapper.toResponseDto(first)).thenReturn(ReviewResponseDto.builder().id(1L).build());
+
+		CursorPageDto<ReviewResponseDto> page = reviewService.getReviewsAfter(null, 1);
+
+		assertEquals(1, page.getSize());
+		assertEquals(1L, page.getContent().get(0).getId());
+		assertNotNull(page.getNextCursor());
+	}
+
+	@Test
+	void testGetReviewsForMovieUsesMovieKeyset() {
+		Review first = Review.builder().id(7L).build();
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 3L)).thenReturn(true);
+		when(reviewRepository.findByMovieIdAndIdGreaterThanOrderByIdAsc(3L, 0L, Limit.of(2))).thenReturn(List.of(first));
+		when(reviewMapper.toResponseDto(first)).thenReturn(ReviewResponseDto.builder().id(7L).movieId(3L).build());
+
+		CursorPageDto<ReviewResponseDto> page = reviewService.getReviewsForMovie(3L, "", 1);
+
+		assertEquals(1, page.getSize());
+		assertNull(page.getNextCursor());
+		verify(movieRepository, never()).existsById(any());
+	}
+
+	@Test
+	void testGetReviewsForMissingMovie() {
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.MOVIE, 99L)).thenReturn(true);
+		when(reviewRepository.findByMovieIdAndIdGreaterThanOrderByIdAsc(99L, 0L, Limit.of(11))).thenReturn(List.of());
+		when(movieRepository.existsById(99L)).thenReturn(false);
+
+		RuntimeException exception = assertThrows(ResourceNotFoundException.class, () -> reviewService.getReviewsForMovie(99L, null, 10));
+
+		assertEquals("Фильм с ID 99 не найден", exception.getMessage());
+		verify(idExistenceFilter).recordFalsePositive(IdExistenceFilter.Kind.MOVIE);
+	}
+
 	@Test
 	void testGetReviewByIdFound() {
 		Review review = new Review();
 		ReviewResponseDto dto = new ReviewResponseDto();
 
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, 1L)).thenReturn(true);
 		when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
 		when(reviewMapper.toResponseDto(review)).thenReturn(dto);
 
@@ -105,6 +217,7 @@ class ReviewServiceTest {
 
 	@Test
 	void testGetReviewByIdNotFound() {
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, 1L)).thenReturn(true);
 		when(reviewRepository.findById(1L)).thenReturn(Optional.empty());
 
 		RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -114,28 +227,88 @@ class ReviewServiceTest {
 		assertEquals("Отзыв с ID 1 не найден", exception.getMessage());
 	}
 
+	@Test
+	void testGetReviewByIdSkipsRepositoryForFilteredId() {
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, 404L)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> reviewService.getReviewById(404L));
+
+		verifyNoInteractions(reviewRepository);
+	}
+
 	@Test
 	void testUpdateReviewSuccess() {
 		Long reviewId = 1L;
-		Review existing = Review.builder().id(reviewId).build();
+		Movie movie = Movie.builder().id(7L).ratingSum(2).ratingCount(1).averageRating(2.0).build();
+		Review existing = Review.builder().id(reviewId).rating(2).movie(movie).build();
 		Review updated = Review.builder().id(reviewId).build();
 		ReviewRequestDto requestDto = ReviewRequestDto.builder()
 			.rating(4).comment("Updated").reviewerName("Sam").build();
 		ReviewResponseDto dto = ReviewResponseDto.builder().id(reviewId).build();
 
-		when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existing));
+		when(reviewRepository.findMovieIdById(reviewId)).thenReturn(Optional.of(7L));
+		when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existing));
+		when(movieRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(movie));
 		when(reviewRepository.save(existing)).thenReturn(updated);
 		when(reviewMapper.toResponseDto(updated)).thenReturn(dto);
 
 		ReviewResponseDto result = reviewService.updateReview(reviewId, requestDto);
 
 		assertEquals(reviewId, result.getId());
+		InOrder locks = inOrder(movieRepository, reviewRepository);
+		locks.verify(movieRepository).findByIdForUpdate(7L);
+		locks.verify(reviewRepository).findByIdForUpdate(reviewId);
 		verify(reviewRepository).save(existing);
+		assertEquals(4, movie.getRatingSum());
+		assertEquals(1, movie.getRatingCount());
+		assertEquals(4.0, movie.getAverageRating());
+		ArgumentCaptor<ReviewChangedEvent> event = ArgumentCaptor.forClass(ReviewChangedEvent.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		assertEquals(ChangeType.UPDATED, event.getValue().type());
+		assertSame(dto, event.getValue().review());
+	}
+
+	@Test
+	void testUpdateReviewKeepsAggregatesWhenRatingUnchanged() {
+		Movie movie = Movie.builder().id(7L).build();
+		Review existing = Review.builder().id(1L).rating(4).movie(movie).build();
+		ReviewRequestDto requestDto = ReviewRequestDto.builder()
+			.rating(4).comment("Only comment").reviewerName("Sam").build();
+
+		when(reviewRepository.findMovieIdById(1L)).thenReturn(Optional.of(7L));
+		when(reviewRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+		when(movieRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(movie));
+		when(reviewRepository.save(existing)).thenReturn(existing);
+
+		reviewService.updateReview(1L, requestDto);
+
+		verify(movieRepository, never()).findSummaryById(anyLong());
+		verify(entityManager).lock(movie, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+		verify(entityManager.getEntityManagerFactory().getCache()).evict(Movie.class, 7L);
+	}
+
+	@Test
+	void testUpdateReviewRejectsStaleVersion() {
+		Movie movie = Movie.builder().id(7L).build();
+		Review existing = Review.builder().id(1L).version(3L).rating(4).movie(movie).build();
+		ReviewRequestDto requestDto = ReviewRequestDto.builder()
+			.rating(5).comment("Late edit").reviewerName("Sam").build();
+
+		when(reviewRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+
+		PreconditionFailedException exception = assertThrows(PreconditionFailedException.class, () ->
+			reviewService.updateReview(1L, requestDto, 2L)
+		);
+
+		assertEquals("Отзыв с ID 1 был изменен: текущая версия 3", exception.getMessage());
+		assertEquals(4, existing.getRating());
+		verify(reviewRepository, never()).save(any());
+		verifyNoInteractions(eventPublisher);
 	}
 
 	@Test
 	void testUpdateReviewNotFound() {
-		when(reviewRepository.findById(2L)).thenReturn(Optional.empty());
+		when(reviewRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
 
 		ReviewRequestDto requestDto = ReviewRequestDto.builder()
 			.rating(3)
@@ -152,16 +325,23 @@ class ReviewServiceTest {
 
 	@Test
 	void testDeleteReviewSuccess() {
-		when(reviewRepository.existsById(3L)).thenReturn(true);
+		Movie movie = Movie.builder().id(7L).ratingSum(5).ratingCount(1).averageRating(5.0).build();
+		Review review = Review.builder().id(3L).rating(5).movie(movie).build();
+		when(reviewRepository.findMovieIdById(3L)).thenReturn(Optional.of(7L));
+		when(reviewRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(review));
+		when(movieRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(movie));
 
 		reviewService.deleteReview(3L);
 
-		verify(reviewRepository).deleteById(3L);
+		verify(reviewRepository).delete(review);
+		assertEquals(0, movie.getRatingSum());
+		assertEquals(0, movie.getRatingCount());
+		assertEquals(0.0, movie.getAverageRating());
 	}
 
 	@Test
 	void testDeleteReviewNotFound() {
-		when(reviewRepository.existsById(4L)).thenReturn(false);
+		when(reviewRepository.findByIdForUpdate(4L)).thenReturn(Optional.empty());
 
 		RuntimeException exception = assertThrows(RuntimeException.class, () ->
 			reviewService.deleteReview(4L)
@@ -169,4 +349,66 @@ class ReviewServiceTest {
 
 		assertEquals("Отзыв с ID 4 не найден", exception.getMessage());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testGetReviewsByIdsRecordsFalsePositives() {
+		ConcurrentMapCache cache = new ConcurrentMapCache("reviews");
+		Review review = Review.builder().id(7L).build();
+		ReviewResponseDto dto = ReviewResponseDto.builder().id(7L).build();
+
+		when(cacheManager.getCache("reviews")).thenReturn(cache);
+		when(idExistenceFilter.mightContain(eq(IdExistenceFilter.Kind.REVIEW), anyLong())).thenReturn(true);
+		when(reviewRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(review));
+		when(reviewMapper.toResponseDto(review)).thenReturn(dto);
+
+		List<LookupItemDto<ReviewResponseDto>> result = reviewService.getReviewsByIds(List.of(7L, 8L));
+
+		assertTrue(result.get(0).isFound());
+		assertSame(dto, result.get(0).getData());
+		assertFalse(result.get(1).isFound());
+		assertNull(cache.get(8L));
+		verify(idExistenceFilter).recordFalsePositive(IdExistenceFilter.Kind.REVIEW);
+	}
+
+	@Test
+	void testGetReviewsByIdsDropsEntriesInvalidatedDuringLoad() {
+		ConcurrentMapCache cache = new ConcurrentMapCache("reviews");
+		Review review = Review.builder().id(7L).build();
+		ReviewResponseDto dto = ReviewResponseDto.builder().id(7L).build();
+
+		when(cacheManager.getCache("reviews")).thenReturn(cache);
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, 7L)).thenReturn(true);
+		when(reviewRepository.findAllById(List.of(7L))).thenAnswer(invocation -> {
+			// a write commits and evicts the review while the batch is being read
+			cachedPageIndex.invalidating("reviews");
+			cache.evict(7L);
+			return List.of(review);
+		});
+		when(reviewMapper.toResponseDto(review)).thenReturn(dto);
+
+		List<LookupItemDto<ReviewResponseDto>> result = reviewService.getReviewsByIds(List.of(7L));
+
+		assertSame(dto, result.get(0).getData());
+		assertNull(cache.get(7L));
+	}
+
+	@Test
+	void testGetReviewsByIdsKeepsEntryCachedMeanwhile() {
+		ConcurrentMapCache cache = new ConcurrentMapCache("reviews");
+		Review review = Review.builder().id(7L).build();
+		ReviewResponseDto batch = ReviewResponseDto.builder().id(7L).build();
+		ReviewResponseDto single = ReviewResponseDto.builder().id(7L).version(2L).build();
+
+		when(cacheManager.getCache("reviews")).thenReturn(cache);
+		when(idExistenceFilter.mightContain(IdExistenceFilter.Kind.REVIEW, 7L)).thenReturn(true);
+		when(reviewRepository.findAllById(List.of(7L))).thenAnswer(invocation -> {
+			cache.put(7L, single);
+			return List.of(review);
+		});
+		when(reviewMapper.toResponseDto(review)).thenReturn(batch);
+
+		reviewService.getReviewsByIds(List.of(7L));
+
+		assertSame(single, cache.get(7L).get());
+	}
+}
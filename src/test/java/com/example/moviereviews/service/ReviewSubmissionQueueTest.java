@@ -0,0 +1,162 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.BulkReviewRequestDto;
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.dto.ReviewResponseDto;
+import com.example.moviereviews.dto.ReviewSubmissionDto;
+import com.example.moviereviews.exception.ReviewQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewSubmissionQueueTest {
+
+	@Mock
+	private ReviewService reviewService;
+
+	private ReviewSubmissionQueue queue;
+
+	@AfterEach
+	void tearDown() {
+		if (queue != null) {
+			queue.stop();
+		}
+	}
+
+	@Test
+	void testQueuedReviewsAreWrittenInBatchesAndTracked() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicLong ids = new AtomicLong(100);
+		when(reviewService.createReviews(anyList())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			List<BulkReviewRequestDto> rows = invocation.getArgument(0);
+			List<ReviewResponseDto> created = new ArrayList<>();
+			for (BulkReviewRequestDto row : rows) {
+				created.add(row.getMovieId() == 404L ? null : ReviewResponseDto.builder().id(ids.incrementAndGet()).movieId(row.getMovieId()).build());
+			}
+			return created;
+		});
+		queue = start(10, 10);
+
+		ReviewSubmissionDto first = queue.submit(1L, request());
+		ReviewSubmissionDto second = queue.submit(1L, request());
+		ReviewSubmissionDto missing = queue.submit(404L, request());
+		assertEquals(ReviewSubmissionDto.Status.QUEUED, queue.getSubmission(first.getTrackingId()).getStatus());
+
+		release.countDown();
+		queue.stop();
+
+		assertEquals(ReviewSubmissionDto.Status.COMPLETED, queue.getSubmission(first.getTrackingId()).getStatus());
+		assertNotNull(queue.getSubmission(second.getTrackingId()).getReviewId());
+		assertEquals(ReviewSubmissionDto.Status.FAILED, queue.getSubmission(missing.getTrackingId()).getStatus());
+		assertEquals("Фильм с ID 404 не найден", queue.getSubmission(missing.getTrackingId()).getError());
+		verify(reviewService, atMost(2)).createReviews(anyList());
+		assertEquals(0, queue.queuedCount());
+	}
+
+	@Test
+	void testFullQueueRejectsSubmissions() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(reviewService.createReviews(anyList())).thenAnswer(invocation -> {
+			writing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			List<BulkReviewRequestDto> rows = invocation.getArgument(0);
+			return rows.stream().map(row -> ReviewResponseDto.builder().id(1L).build()).toList();
+		});
+		queue = start(1, 10);
+
+		queue.submit(1L, request());
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		queue.submit(1L, request());
+
+		assertThrows(ReviewQueueFullException.class, () -> queue.submit(1L, request()));
+
+		release.countDown();
+		queue.stop();
+		verify(reviewService, times(2)).createReviews(anyList());
+	}
+
+	@Test
+	void testStoppedQueueRejectsSubmissionsAndUnknownTrackingId() {
+		queue = new ReviewSubmissionQueue(reviewService, true, 10, 10, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+		assertThrows(ReviewQueueFullException.class, () -> queue.submit(1L, request()));
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> queue.getSubmission("unknown"));
+		assertEquals("Заявка с ID unknown не найдена", exception.getMessage());
+		verifyNoInteractions(reviewService);
+	}
+
+	@Test
+	void testFailedBatchMarksEverySubmissionFailed() {
+		when(reviewService.createReviews(anyList())).thenThrow(new RuntimeException("db down"));
+		queue = start(10, 10);
+
+		ReviewSubmissionDto submission = queue.submit(1L, request());
+		queue.stop();
+
+		assertEquals(ReviewSubmissionDto.Status.FAILED, queue.getSubmission(submission.getTrackingId()).getStatus());
+		assertEquals("db down", queue.getSubmission(submission.getTrackingId()).getError());
+	}
+
+	@Test
+	void testSubmissionsAcceptedDuringStopAreNeverLeftQueued() throws Exception {
+		when(reviewService.createReviews(anyList())).thenAnswer(invocation -> {
+			List<BulkReviewRequestDto> rows = invocation.getArgument(0);
+			return rows.stream().map(row -> ReviewResponseDto.builder().id(1L).build()).toList();
+		});
+		queue = start(10_000, 50);
+
+		List<String> accepted = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch submitting = new CountDownLatch(4);
+		ExecutorService submitters = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			submitters.execute(() -> {
+				submitting.countDown();
+				try {
+					while (accepted.size() < 20_000) {
+						accepted.add(queue.submit(1L, request()).getTrackingId());
+					}
+				} catch (ReviewQueueFullException e) {
+					// stopped
+				}
+			});
+		}
+		assertTrue(submitting.await(5, TimeUnit.SECONDS));
+		queue.stop();
+		submitters.shutdown();
+		assertTrue(submitters.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertFalse(accepted.isEmpty());
+		for (String trackingId : accepted) {
+			assertEquals(ReviewSubmissionDto.Status.COMPLETED, queue.getSubmission(trackingId).getStatus());
+		}
+		assertEquals(0, queue.queuedCount());
+	}
+
+	private ReviewSubmissionQueue start(int capacity, int batchSize) {
+		ReviewSubmissionQueue submissionQueue = new ReviewSubmissionQueue(reviewService, true, capacity, batchSize, Duration.ofMinutes(1), Duration.ofSeconds(5));
+		submissionQueue.start();
+		return submissionQueue;
+	}
+
+	private static ReviewRequestDto request() {
+		return ReviewRequestDto.builder().rating(5).comment("Great").reviewerName("Alice").build();
+	}
+}
@@ -0,0 +1,177 @@
+package com.example.moviereviews.service;
+
+import com.example.moviereviews.dto.ReviewRequestDto;
+import com.example.moviereviews.model.Movie;
+import com.example.moviereviews.model.Review;
+import com.example.moviereviews.repository.MovieRepository;
+import com.example.moviereviews.repository.ReviewRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheIntegrationTest {
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private SessionFactory sessionFactory;
+	private Statistics statistics;
+	private TransactionTemplate transaction;
+	private Long movieId;
+
+	@BeforeEach
+	void setUp() {
+		sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		statistics = sessionFactory.getStatistics();
+		transaction = new TransactionTemplate(transactionManager);
+		movieId = createMovie("Noir", 3).getId();
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@AfterEach
+	void tearDown() {
+		reviewRepository.deleteAllInBatch();
+		movieRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void testMovieAndReviewsAreServedWithoutSqlAfterWarmUp() {
+		assertTrue(countStatements(this::loadRatings) > 0);
+
+		statistics.clear();
+		List<Integer> ratings = inTransaction(this::loadRatings);
+
+		assertEquals(List.of(1, 2, 3), ratings.stream().sorted().toList());
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getDomainDataRegionStatistics("movie").getHitCount() > 0);
+		assertTrue(statistics.getDomainDataRegionStatistics("movie.reviews").getHitCount() > 0);
+		assertTrue(statistics.getDomainDataRegionStatistics("review").getHitCount() >= 3);
+	}
+
+	@Test
+	void testWritesInvalidateCachedMovieAndCollection() {
+		inTransaction(this::loadRatings);
+
+		reviewService.createReview(movieId, ReviewRequestDto.builder().rating(5).comment("Late").reviewerName("Eve").build());
+		Long lowestRatedId = inTransaction(() -> movieRepository.findById(movieId).orElseThrow().getReviews().stream()
+			.filter(review -> review.getRating() == 1)
+			.findFirst().orElseThrow().getId());
+		reviewService.updateReview(lowestRatedId, ReviewRequestDto.builder().rating(4).comment("Changed").reviewerName("Reviewer 1").build());
+
+		inTransaction(() -> {
+			Movie movie = movieRepository.findById(movieId).orElseThrow();
+			assertEquals(List.of(2, 3, 4, 5), movie.getReviews().stream().map(Review::getRating).sorted().toList());
+			assertEquals(4, movie.getRatingCount());
+			assertEquals(14, movie.getRatingSum());
+			return null;
+		});
+	}
+
+	@Test
+	void testReviewWritesLeaveOtherMoviesCached() {
+		Long otherId = createMovie("Western", 2).getId();
+		sessionFactory.getCache().evictAllRegions();
+		inTransaction(this::loadRatings);
+		inTransaction(() -> movieRepository.findById(otherId).orElseThrow().getReviews().size());
+
+		Long reviewId = reviewService.createReview(movieId, ReviewRequestDto.builder().rating(5).comment("Late").reviewerName("Eve").build()).getId();
+		reviewService.updateReview(reviewId, ReviewRequestDto.builder().rating(5).comment("Edited").reviewerName("Eve").build());
+		reviewService.updateReview(reviewId, ReviewRequestDto.builder().rating(1).comment("Edited").reviewerName("Eve").build());
+		reviewService.deleteReview(reviewId);
+
+		assertTrue(sessionFactory.getCache().containsEntity(Movie.class, otherId));
+		statistics.clear();
+		assertEquals(2, inTransaction(() -> movieRepository.findById(otherId).orElseThrow().getReviews().size()));
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testCommentEditPublishesTheNewMovieVersion() {
+		inTransaction(this::loadRatings);
+		Long versionBefore = inTransaction(() -> movieRepository.findById(movieId).orElseThrow().getVersion());
+		Long reviewId = inTransaction(() -> movieRepository.findById(movieId).orElseThrow().getReviews().get(0).getId());
+		int rating = inTransaction(() -> movieRepository.findById(movieId).orElseThrow().getReviews().get(0).getRating());
+
+		reviewService.updateReview(reviewId, ReviewRequestDto.builder().rating(rating).comment("Only the comment").reviewerName("Reviewer").build());
+
+		Long versionAfter = inTransaction(() -> movieRepository.findById(movieId).orElseThrow().getVersion());
+		assertTrue(versionAfter > versionBefore);
+		assertEquals(versionAfter, movieRepository.findVersionById(movieId).orElseThrow());
+	}
+
+	@Test
+	void testFindByGenreUsesQueryCacheUntilMovieTableChanges() {
+		inTransaction(() -> movieRepository.findByGenre("Noir").size());
+
+		statistics.clear();
+		assertEquals(1, inTransaction(() -> movieRepository.findByGenre("Noir").size()));
+		assertEquals(0, statistics.getQueryExecutionCount());
+		assertEquals(1, statistics.getQueryCacheHitCount());
+
+		createMovie("Noir", 1);
+
+		assertEquals(2, inTransaction(() -> movieRepository.findByGenre("Noir").size()));
+	}
+
+	private List<Integer> loadRatings() {
+		Movie movie = movieRepository.findById(movieId).orElseThrow();
+		return movie.getReviews().stream().map(Review::getRating).toList();
+	}
+
+	private long countStatements(Supplier<?> action) {
+		statistics.clear();
+		inTransaction(action);
+		return statistics.getPrepareStatementCount();
+	}
+
+	private <T> T inTransaction(Supplier<T> action) {
+		return transaction.execute(status -> action.get());
+	}
+
+	private Movie createMovie(String genre, int reviewCount) {
+		Movie movie = Movie.builder()
+			.title(genre + " movie")
+			.releaseYear(1950)
+			.genre(genre)
+			.director("Director")
+			.build();
+		List<Review> reviews = new ArrayList<>();
+		for (int r = 1; r <= reviewCount; r++) {
+			reviews.add(Review.builder()
+				.rating(r)
+				.comment("Review " + r)
+				.reviewerName("Reviewer " + r)
+				.movie(movie)
+				.build());
+		}
+		movie.setReviews(reviews);
+		movie.recalculateRatingAggregates();
+		return movieRepository.save(movie);
+	}
+}